@@ -0,0 +1,35 @@
+package dev.qilletni.lib.tidal.benchmarks;
+
+import dev.qilletni.lib.tidal.music.DurationConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures parsing track durations, which is done once per track mapped from the API.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DurationConverterBenchmark {
+
+    @Param({"PT3M45S", "PT45S", "PT1H2M3S", "invalid"})
+    public String duration;
+
+    @Benchmark
+    public int parseDurationToSeconds() {
+        return DurationConverter.parseDurationToSeconds(duration);
+    }
+}
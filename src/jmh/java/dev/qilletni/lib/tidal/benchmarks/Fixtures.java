@@ -0,0 +1,74 @@
+package dev.qilletni.lib.tidal.benchmarks;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonDeserializer;
+import com.google.gson.JsonParseException;
+import com.tidal.sdk.tidalapi.generated.models.AlbumsResourceObject;
+import com.tidal.sdk.tidalapi.generated.models.ArtistsResourceObject;
+import com.tidal.sdk.tidalapi.generated.models.IncludedInner;
+import com.tidal.sdk.tidalapi.generated.models.PlaylistsResourceObject;
+import com.tidal.sdk.tidalapi.generated.models.TracksResourceObject;
+import com.tidal.sdk.tidalapi.generated.models.UsersResourceObject;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Loads Tidal API response documents from the JSON fixtures in {@code src/jmh/resources/fixtures}.
+ */
+public class Fixtures {
+
+    public static final String TRACKS = "tracks-multi.json";
+    public static final String ALBUMS = "albums-multi.json";
+    public static final String ARTISTS = "artists-multi.json";
+    public static final String PLAYLIST_ITEMS = "playlist-items.json";
+    public static final String SEARCH_RESULTS = "search-results.json";
+    public static final String SEARCH_CANDIDATES = "search-candidates.json";
+
+    /**
+     * The classes of {@link IncludedInner} the fixtures use, keyed by their JSON:API {@code type}.
+     */
+    private static final Map<String, Class<? extends IncludedInner>> INCLUDED_TYPES = Map.of(
+            "tracks", TracksResourceObject.class,
+            "albums", AlbumsResourceObject.class,
+            "artists", ArtistsResourceObject.class,
+            "playlists", PlaylistsResourceObject.class,
+            "users", UsersResourceObject.class);
+
+    private static final Gson GSON = new GsonBuilder()
+            .registerTypeAdapter(IncludedInner.class, (JsonDeserializer<IncludedInner>) (json, typeOfT, context) -> {
+                var type = json.getAsJsonObject().get("type").getAsString();
+                var includedClass = INCLUDED_TYPES.get(type);
+                if (includedClass == null) {
+                    throw new JsonParseException("Unsupported included type: " + type);
+                }
+
+                return context.deserialize(json, includedClass);
+            })
+            .create();
+
+    /**
+     * Reads a fixture as the given document type.
+     *
+     * @param name         The file name of the fixture
+     * @param documentType The type of document the fixture holds
+     * @return The parsed document
+     * @param <T> The type of document
+     */
+    public static <T> T load(String name, Class<T> documentType) {
+        var stream = Fixtures.class.getResourceAsStream("/fixtures/" + name);
+        if (stream == null) {
+            throw new IllegalArgumentException("No fixture named " + name);
+        }
+
+        try (var reader = new InputStreamReader(stream, StandardCharsets.UTF_8)) {
+            return GSON.fromJson(reader, documentType);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package dev.qilletni.lib.tidal.benchmarks;
+
+import com.tidal.sdk.tidalapi.generated.models.AlbumsResourceObject;
+import com.tidal.sdk.tidalapi.generated.models.ArtistsResourceObject;
+import com.tidal.sdk.tidalapi.generated.models.SearchResultsSingleResourceDataDocument;
+import com.tidal.sdk.tidalapi.generated.models.TracksMultiResourceDataDocument;
+import dev.qilletni.api.music.MusicCache;
+import dev.qilletni.api.music.Track;
+import dev.qilletni.lib.tidal.api.helper.IncludedInnerWrapper;
+import dev.qilletni.lib.tidal.api.helper.ModelHelper;
+import dev.qilletni.lib.tidal.music.DurationConverter;
+import dev.qilletni.lib.tidal.music.entities.TidalAlbum;
+import dev.qilletni.lib.tidal.music.entities.TidalArtist;
+import dev.qilletni.lib.tidal.music.entities.TidalTrack;
+import dev.qilletni.lib.tidal.music.strategies.search.TidalFuzzySearchResolveStrategy;
+import dev.qilletni.lib.tidal.music.strategies.search.TidalSearchResolveStrategyFactory.SearchResolveResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures resolving a page of search results with {@link TidalFuzzySearchResolveStrategy}. Candidate tracks are
+ * served from memory, so only the scoring is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FuzzySearchResolveBenchmark {
+
+    /**
+     * The query to resolve. {@code exact} matches a title and artist as-is, {@code metadata} asks for a specific version
+     * of a track with several versions, and {@code miss} matches nothing, so every candidate is fully scored.
+     */
+    @Param({"exact", "metadata", "miss"})
+    public String query;
+
+    private TidalFuzzySearchResolveStrategy resolveStrategy;
+    private SearchResultsSingleResourceDataDocument searchResults;
+    private String title;
+    private String artist;
+
+    @Setup
+    public void setup() {
+        resolveStrategy = new TidalFuzzySearchResolveStrategy(createMusicCache(loadCandidates()));
+        searchResults = Fixtures.load(Fixtures.SEARCH_RESULTS, SearchResultsSingleResourceDataDocument.class);
+
+        switch (query) {
+            case "exact" -> {
+                title = "Circle Saw";
+                artist = "Turnstile";
+            }
+            case "metadata" -> {
+                title = "Cherry Waves (Acoustic)";
+                artist = "Gel";
+            }
+            case "miss" -> {
+                title = "Nothing Like This";
+                artist = "Nobody In Particular";
+            }
+            default -> throw new IllegalArgumentException("Unknown query: " + query);
+        }
+    }
+
+    @Benchmark
+    public SearchResolveResult resolveTrack() {
+        return resolveStrategy.resolveTrack(searchResults, title, artist);
+    }
+
+    /**
+     * Creates fully populated tracks from the candidates fixture, as the cache would return them.
+     */
+    private static Map<String, Track> loadCandidates() {
+        var candidates = Fixtures.load(Fixtures.SEARCH_CANDIDATES, TracksMultiResourceDataDocument.class);
+        var includedInnerWrapper = new IncludedInnerWrapper(candidates.getIncluded());
+
+        var tracks = new HashMap<String, Track>();
+        for (var trackResource : candidates.getData()) {
+            var relationships = trackResource.getRelationships();
+
+            var artists = ModelHelper.collectIncludeInners(includedInnerWrapper, relationships.getArtists().getData(), ArtistsResourceObject.class)
+                    .stream()
+                    .map(artistResource -> new TidalArtist(artistResource.getId(), artistResource.getAttributes().getName()))
+                    .toList();
+
+            var albumResource = ModelHelper.collectIncludeInners(includedInnerWrapper, relationships.getAlbums().getData(), AlbumsResourceObject.class).getFirst();
+            var album = new TidalAlbum(albumResource.getId(), albumResource.getAttributes().getTitle(), artists);
+
+            tracks.put(trackResource.getId(), new TidalTrack(trackResource.getId(),
+                    trackResource.getAttributes().getTitle(),
+                    artists,
+                    album,
+                    DurationConverter.parseDurationToSeconds(trackResource.getAttributes().getDuration())));
+        }
+
+        return tracks;
+    }
+
+    /**
+     * Creates a {@link MusicCache} that only supports {@link MusicCache#getTracksById(List)}, which is all the fuzzy
+     * strategy uses.
+     */
+    @SuppressWarnings("unchecked")
+    private static MusicCache createMusicCache(Map<String, Track> tracks) {
+        return (MusicCache) Proxy.newProxyInstance(MusicCache.class.getClassLoader(), new Class<?>[]{MusicCache.class}, (proxy, method, args) -> {
+            if (method.getName().equals("getTracksById")) {
+                return ((List<String>) args[0]).stream()
+                        .map(tracks::get)
+                        .toList();
+            }
+
+            throw new UnsupportedOperationException(method.getName());
+        });
+    }
+}
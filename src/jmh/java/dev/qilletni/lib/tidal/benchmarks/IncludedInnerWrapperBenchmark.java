@@ -0,0 +1,42 @@
+package dev.qilletni.lib.tidal.benchmarks;
+
+import com.tidal.sdk.tidalapi.generated.models.IncludedInner;
+import com.tidal.sdk.tidalapi.generated.models.TracksMultiResourceDataDocument;
+import dev.qilletni.lib.tidal.api.helper.IncludedInnerWrapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures indexing the {@code included} array of a page of tracks, which is done for every document the API returns.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IncludedInnerWrapperBenchmark {
+
+    private List<IncludedInner> included;
+
+    @Setup
+    public void setup() {
+        included = Fixtures.load(Fixtures.TRACKS, TracksMultiResourceDataDocument.class).getIncluded();
+    }
+
+    @Benchmark
+    public IncludedInnerWrapper construct() {
+        return new IncludedInnerWrapper(included);
+    }
+}
@@ -0,0 +1,80 @@
+package dev.qilletni.lib.tidal.music;
+
+import com.tidal.sdk.tidalapi.generated.models.AlbumsMultiResourceDataDocument;
+import com.tidal.sdk.tidalapi.generated.models.ArtistsMultiResourceDataDocument;
+import com.tidal.sdk.tidalapi.generated.models.PlaylistsItemsMultiRelationshipDataDocument;
+import com.tidal.sdk.tidalapi.generated.models.TracksMultiResourceDataDocument;
+import dev.qilletni.api.music.Album;
+import dev.qilletni.api.music.Artist;
+import dev.qilletni.api.music.Track;
+import dev.qilletni.lib.tidal.benchmarks.Fixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures mapping a page of API models to entities with the {@code create*List} functions of
+ * {@link TidalMusicFetcher}. This lives in the fetcher's package, as the mapping functions are package-private.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EntityMappingBenchmark {
+
+    private TidalMusicFetcher musicFetcher;
+
+    private TracksMultiResourceDataDocument tracks;
+    private AlbumsMultiResourceDataDocument albums;
+    private ArtistsMultiResourceDataDocument artists;
+    private PlaylistsItemsMultiRelationshipDataDocument playlistItems;
+
+    @Setup
+    public void setup() {
+        // The mapping functions never make requests, so no API client or user is needed
+        musicFetcher = new TidalMusicFetcher(null, "US", null, null);
+
+        tracks = Fixtures.load(Fixtures.TRACKS, TracksMultiResourceDataDocument.class);
+        albums = Fixtures.load(Fixtures.ALBUMS, AlbumsMultiResourceDataDocument.class);
+        artists = Fixtures.load(Fixtures.ARTISTS, ArtistsMultiResourceDataDocument.class);
+        playlistItems = Fixtures.load(Fixtures.PLAYLIST_ITEMS, PlaylistsItemsMultiRelationshipDataDocument.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        musicFetcher.shutdown();
+    }
+
+    @Benchmark
+    public List<Track> createTrackList() {
+        return musicFetcher.createTrackList(tracks.getData(), tracks.getIncluded());
+    }
+
+    @Benchmark
+    public List<Album> createAlbumList() {
+        return musicFetcher.createAlbumList(albums.getData(), albums.getIncluded());
+    }
+
+    @Benchmark
+    public List<Artist> createArtistList() {
+        return musicFetcher.createArtistList(artists.getData());
+    }
+
+    @Benchmark
+    public List<Track> createPlaylistTrackList() {
+        return musicFetcher.createPlaylistTrackList(playlistItems);
+    }
+}
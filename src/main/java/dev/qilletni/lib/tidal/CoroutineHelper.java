@@ -3,16 +3,31 @@ package dev.qilletni.lib.tidal;
 import kotlin.coroutines.Continuation;
 import kotlin.coroutines.EmptyCoroutineContext;
 import kotlinx.coroutines.BuildersKt;
-import retrofit2.Response;
+import kotlinx.coroutines.CoroutineScope;
+import kotlinx.coroutines.CoroutineScopeKt;
+import kotlinx.coroutines.CoroutineStart;
+import kotlinx.coroutines.ExecutorsKt;
+import kotlinx.coroutines.SupervisorKt;
+import kotlinx.coroutines.future.FutureKt;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
 import java.util.function.Function;
 
 /**
  * Helper class for calling Kotlin suspend functions from Java code.
- * Uses kotlinx.coroutines.runBlocking to execute suspend functions synchronously.
+ * Suspend functions may either be run synchronously with kotlinx.coroutines.runBlocking, or asynchronously on a shared
+ * dispatcher, completing a {@link CompletableFuture}.
  */
 public class CoroutineHelper {
 
+    /**
+     * The scope asynchronous suspend functions are launched in. Coroutines are dispatched on virtual threads, and the
+     * supervisor job keeps one failed call from cancelling the others.
+     */
+    private static final CoroutineScope ASYNC_SCOPE = CoroutineScopeKt.CoroutineScope(
+            ExecutorsKt.from(Executors.newVirtualThreadPerTaskExecutor()).plus(SupervisorKt.SupervisorJob(null)));
+
     /**
      * Executes a suspend function synchronously using runBlocking.
      * <p>
@@ -33,4 +48,28 @@ public class CoroutineHelper {
             (scope, continuation) -> suspendCall.apply(continuation)
         );
     }
+
+    /**
+     * Executes a suspend function asynchronously on the shared dispatcher. No thread is held while the suspend function
+     * is suspended, such as while waiting for a response.
+     * <p>
+     * Usage example:
+     * <pre>
+     * CompletableFuture&lt;Response&lt;UsersSingleResourceDataDocument&gt;&gt; future = CoroutineHelper.runSuspendAsync(cont ->
+     *     api.suspendMethod("param1", "param2", cont)
+     * );
+     * </pre>
+     *
+     * @param suspendCall A function that takes a Continuation and calls the suspend function
+     * @param <T> The return type
+     * @return A future completed with the result of the suspend function
+     */
+    public static <T> CompletableFuture<T> runSuspendAsync(Function<Continuation<? super T>, Object> suspendCall) {
+        return FutureKt.<T>future(
+            ASYNC_SCOPE,
+            EmptyCoroutineContext.INSTANCE,
+            CoroutineStart.DEFAULT,
+            (scope, continuation) -> suspendCall.apply(continuation)
+        );
+    }
 }
@@ -3,6 +3,8 @@ package dev.qilletni.lib.tidal.api.helper;
 import com.tidal.sdk.tidalapi.generated.models.*;
 import org.jetbrains.annotations.Nullable;
 
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -22,6 +24,38 @@ public class ModelHelper {
                 .toList();
     }
 
+    /**
+     * Extracts the {@code page[cursor]} query parameter from a {@code links.next} URL, which is used to request the
+     * next page of a paginated resource.
+     *
+     * @param nextLink The next link of a response, which may be relative
+     * @return The cursor of the next page, if there is one
+     */
+    public static Optional<String> extractPageCursor(@Nullable String nextLink) {
+        if (nextLink == null) {
+            return Optional.empty();
+        }
+
+        var queryIndex = nextLink.indexOf('?');
+        if (queryIndex == -1) {
+            return Optional.empty();
+        }
+
+        for (var parameter : nextLink.substring(queryIndex + 1).split("&")) {
+            var separatorIndex = parameter.indexOf('=');
+            if (separatorIndex == -1) {
+                continue;
+            }
+
+            var key = URLDecoder.decode(parameter.substring(0, separatorIndex), StandardCharsets.UTF_8);
+            if (key.equals("page[cursor]")) {
+                return Optional.of(URLDecoder.decode(parameter.substring(separatorIndex + 1), StandardCharsets.UTF_8));
+            }
+        }
+
+        return Optional.empty();
+    }
+
     public static String getIncludedInnerId(IncludedInner includedInner) {
         return switch (includedInner) {
             case AlbumsResourceObject obj -> obj.getId();
@@ -0,0 +1,199 @@
+package dev.qilletni.lib.tidal.api.request;
+
+import dev.qilletni.lib.tidal.CoroutineHelper;
+import kotlin.coroutines.Continuation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import retrofit2.Response;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Executes requests against the Tidal API through a shared {@link TokenBucketRateLimiter}, retrying rate limited
+ * (HTTP 429) and server error (HTTP 5xx) responses, as well as I/O failures, with jittered exponential backoff.
+ * <p>
+ * If a response has a {@code Retry-After} header, it is used instead of the computed backoff. A 429 response also
+ * pauses the rate limiter, so all other callers back off too.
+ */
+public class TidalRequestExecutor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TidalRequestExecutor.class);
+
+    public static final double DEFAULT_REQUESTS_PER_SECOND = 5;
+    public static final int DEFAULT_BURST = 10;
+    public static final int DEFAULT_MAX_RETRIES = 4;
+
+    private static final Duration BASE_BACKOFF = Duration.ofMillis(500);
+    private static final Duration MAX_BACKOFF = Duration.ofSeconds(30);
+
+    private final TokenBucketRateLimiter rateLimiter;
+    private final int maxRetries;
+
+    public TidalRequestExecutor() {
+        this(new TokenBucketRateLimiter(DEFAULT_REQUESTS_PER_SECOND, DEFAULT_BURST), DEFAULT_MAX_RETRIES);
+    }
+
+    /**
+     * Creates a new {@link TidalRequestExecutor}.
+     *
+     * @param rateLimiter The rate limiter shared by all requests
+     * @param maxRetries  The number of times a request may be retried before its last response is returned
+     */
+    public TidalRequestExecutor(TokenBucketRateLimiter rateLimiter, int maxRetries) {
+        this.rateLimiter = rateLimiter;
+        this.maxRetries = Math.max(0, maxRetries);
+    }
+
+    /**
+     * Executes a Tidal API suspend function, waiting for the rate limiter and retrying transient failures. If every
+     * attempt fails with a retryable status, the last response is returned for the caller to handle. This blocks on
+     * {@link #executeAsync(Function)}.
+     * <p>
+     * Usage example:
+     * <pre>
+     * Response&lt;TracksSingleResourceDataDocument&gt; response = requestExecutor.execute(cont -&gt;
+     *     tidalApi.createTracks().tracksIdGet(id, countryCode, List.of("albums"), cont)
+     * );
+     * </pre>
+     *
+     * @param suspendCall A function that takes a Continuation and calls the suspend function
+     * @return The response of the last attempt
+     * @param <T> The type of the response body
+     */
+    public <T> Response<T> execute(Function<Continuation<? super Response<T>>, Object> suspendCall) throws InterruptedException {
+        try {
+            return executeAsync(suspendCall).get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    /**
+     * Executes a Tidal API suspend function asynchronously, with the same rate limiting and retries as
+     * {@link #execute(Function)}. No thread is held while waiting for the rate limiter, a backoff, or a response.
+     *
+     * @param suspendCall A function that takes a Continuation and calls the suspend function
+     * @return A future completed with the response of the last attempt
+     * @param <T> The type of the response body
+     */
+    public <T> CompletableFuture<Response<T>> executeAsync(Function<Continuation<? super Response<T>>, Object> suspendCall) {
+        return attemptAsync(suspendCall, 0);
+    }
+
+    private <T> CompletableFuture<Response<T>> attemptAsync(Function<Continuation<? super Response<T>>, Object> suspendCall, int attempt) {
+        return delay(rateLimiter.reserve())
+                .thenCompose(ignored -> CoroutineHelper.runSuspendAsync(suspendCall))
+                .handle((response, throwable) -> retryIfNeeded(suspendCall, attempt, response, throwable))
+                .thenCompose(Function.identity());
+    }
+
+    /**
+     * Decides what to do with the outcome of an attempt, either completing with it or scheduling the next attempt.
+     */
+    private <T> CompletableFuture<Response<T>> retryIfNeeded(Function<Continuation<? super Response<T>>, Object> suspendCall, int attempt, Response<T> response, Throwable throwable) {
+        if (throwable != null) {
+            var cause = throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable;
+
+            // Kotlin rethrows checked exceptions such as IOException without declaring them
+            if (!(cause instanceof IOException) || attempt >= maxRetries) {
+                return CompletableFuture.failedFuture(cause);
+            }
+
+            var backoff = computeBackoff(attempt);
+            LOGGER.warn("Tidal request failed ({}), retrying in {}ms (attempt {}/{})", cause.getMessage(), backoff.toMillis(), attempt + 1, maxRetries);
+            return delay(backoff.toNanos()).thenCompose(ignored -> attemptAsync(suspendCall, attempt + 1));
+        }
+
+        if (!isRetryable(response) || attempt >= maxRetries) {
+            return CompletableFuture.completedFuture(response);
+        }
+
+        var retryAfter = getRetryAfter(response);
+        var backoff = retryAfter.isPresent() ? retryAfter.get() : computeBackoff(attempt);
+
+        if (response.code() == 429) {
+            rateLimiter.pauseFor(backoff);
+        }
+
+        LOGGER.warn("Tidal request returned HTTP {}, retrying in {}ms (attempt {}/{})", response.code(), backoff.toMillis(), attempt + 1, maxRetries);
+
+        // Discard the body so the connection may be reused
+        var errorBody = response.errorBody();
+        if (errorBody != null) {
+            errorBody.close();
+        }
+
+        return delay(backoff.toNanos()).thenCompose(ignored -> attemptAsync(suspendCall, attempt + 1));
+    }
+
+    /**
+     * Creates a future that completes after the given delay, without holding a thread while waiting.
+     *
+     * @param nanos The delay in nanoseconds
+     * @return The future, which is already complete if there is no delay
+     */
+    private static CompletableFuture<Void> delay(long nanos) {
+        if (nanos <= 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        return CompletableFuture.runAsync(() -> {}, CompletableFuture.delayedExecutor(nanos, TimeUnit.NANOSECONDS));
+    }
+
+    private boolean isRetryable(Response<?> response) {
+        return response.code() == 429 || response.code() >= 500;
+    }
+
+    /**
+     * Computes an exponential backoff with full jitter, capped at {@link #MAX_BACKOFF}.
+     *
+     * @param attempt The zero-indexed attempt that failed
+     * @return The duration to wait before the next attempt
+     */
+    private Duration computeBackoff(int attempt) {
+        var ceiling = Math.min(MAX_BACKOFF.toMillis(), BASE_BACKOFF.toMillis() << Math.min(attempt, 16));
+        return Duration.ofMillis(ThreadLocalRandom.current().nextLong(BASE_BACKOFF.toMillis() / 2, ceiling + 1));
+    }
+
+    /**
+     * Reads the {@code Retry-After} header of a response, which is either a number of seconds or an HTTP date.
+     *
+     * @param response The response to read
+     * @return The duration to wait, if the header is present and valid
+     */
+    private Optional<Duration> getRetryAfter(Response<?> response) {
+        var retryAfter = response.headers().get("Retry-After");
+        if (retryAfter == null || retryAfter.isBlank()) {
+            return Optional.empty();
+        }
+
+        try {
+            return Optional.of(Duration.ofSeconds(Math.max(0, Long.parseLong(retryAfter.trim()))));
+        } catch (NumberFormatException ignored) {}
+
+        try {
+            var retryAt = ZonedDateTime.parse(retryAfter.trim(), DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+            var duration = Duration.between(Instant.now(), retryAt);
+            return Optional.of(duration.isNegative() ? Duration.ZERO : duration);
+        } catch (DateTimeParseException e) {
+            LOGGER.debug("Unable to parse Retry-After header: {}", retryAfter);
+            return Optional.empty();
+        }
+    }
+}
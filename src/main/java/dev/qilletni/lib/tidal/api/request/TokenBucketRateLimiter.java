@@ -0,0 +1,80 @@
+package dev.qilletni.lib.tidal.api.request;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A token bucket rate limiter shared by all requests made to the Tidal API. Tokens refill continuously at a fixed rate
+ * up to a maximum burst size, and each request consumes one token.
+ * <p>
+ * Callers that take a token from an empty bucket are told how long to wait rather than being rejected, so requests are
+ * spread out over time in the order they were reserved.
+ */
+public class TokenBucketRateLimiter {
+
+    private final double permitsPerNano;
+    private final double capacity;
+
+    private double tokens;
+    private long lastRefillNanos;
+
+    /**
+     * Creates a new {@link TokenBucketRateLimiter}, starting with a full bucket.
+     *
+     * @param permitsPerSecond The rate tokens refill at
+     * @param burst            The maximum number of tokens that may be accumulated
+     */
+    public TokenBucketRateLimiter(double permitsPerSecond, int burst) {
+        if (permitsPerSecond <= 0) {
+            throw new IllegalArgumentException("permitsPerSecond must be positive");
+        }
+
+        this.permitsPerNano = permitsPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.capacity = Math.max(1, burst);
+        this.tokens = capacity;
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    /**
+     * Takes a token without blocking, returning how long the caller must wait before using it.
+     *
+     * @return The time in nanoseconds until the reserved token may be used, or 0 if it may be used immediately
+     */
+    public synchronized long reserve() {
+        var now = System.nanoTime();
+        refill(now);
+
+        tokens -= 1;
+
+        var pausedNanos = Math.max(0, lastRefillNanos - now);
+        if (tokens >= 0) {
+            return pausedNanos;
+        }
+
+        return pausedNanos + (long) Math.ceil(-tokens / permitsPerNano);
+    }
+
+    /**
+     * Stops tokens from being handed out for the given duration, and empties the bucket. This is used when the API
+     * reports that the quota has been exceeded, so every caller backs off rather than only the one that was rejected.
+     *
+     * @param duration How long to pause for
+     */
+    public synchronized void pauseFor(Duration duration) {
+        var now = System.nanoTime();
+        refill(now);
+
+        tokens = Math.min(tokens, 0);
+        lastRefillNanos = Math.max(lastRefillNanos, now + duration.toNanos());
+    }
+
+    private void refill(long now) {
+        var elapsed = now - lastRefillNanos;
+        if (elapsed <= 0) {
+            return;
+        }
+
+        tokens = Math.min(capacity, tokens + elapsed * permitsPerNano);
+        lastRefillNanos = now;
+    }
+}
@@ -0,0 +1,346 @@
+package dev.qilletni.lib.tidal.database;
+
+import dev.qilletni.lib.tidal.music.entities.TidalAlbum;
+import dev.qilletni.lib.tidal.music.entities.TidalArtist;
+import dev.qilletni.lib.tidal.music.entities.TidalTrack;
+import dev.qilletni.lib.tidal.music.entities.TrackAlias;
+import org.hibernate.Session;
+import org.postgresql.PGConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Stores tracks, along with their artists, albums, search aliases and join rows, without an ORM insert per entity.
+ * Rows are merged into the entity tables with {@code INSERT ... ON CONFLICT DO NOTHING}, so rows that already exist,
+ * including ones another transaction is inserting at the same time, are left untouched rather than failing the store.
+ * Each merge inserts its rows in key order, so concurrent stores of the same entities wait on each other rather than
+ * deadlocking.
+ * <p>
+ * Large batches are copied into temporary staging tables with Postgres {@code COPY} and merged from them. Small batches
+ * are merged by the same statements, with the rows bound as arrays in place of the staging tables.
+ * <p>
+ * This writes the tables Hibernate maps directly, so the table and column names used here are pinned on the entities
+ * with explicit {@code @JoinTable}, {@code @JoinColumn} and {@code @CollectionTable} annotations. Entities written
+ * this way are not managed by the session.
+ */
+public class BulkTrackIngester {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BulkTrackIngester.class);
+
+    private static final StagingTable STAGING_ARTIST = new StagingTable("staging_artist", "id text", "name text");
+    private static final StagingTable STAGING_ALBUM = new StagingTable("staging_album", "id text", "name text");
+    private static final StagingTable STAGING_ALBUM_ARTIST = new StagingTable("staging_album_artist", "album_id text", "artist_id text", "artist_order int4");
+    private static final StagingTable STAGING_TRACK = new StagingTable("staging_track", "id text", "name text", "album_id text", "duration int4", "isrc text");
+    private static final StagingTable STAGING_TRACK_ARTIST = new StagingTable("staging_track_artist", "track_id text", "artist_id text", "artist_order int4");
+    private static final StagingTable STAGING_TRACK_ALIAS = new StagingTable("staging_track_alias", "track_id text", "title text", "artist text");
+
+    /**
+     * Merges the staged rows into the entity tables, in dependency order. Each statement reads its rows from {@code %s},
+     * which is the staging table or the bound arrays, as {@code s}. Join rows are only written for albums and tracks
+     * that have none yet, and aliases only if the track doesn't already have them. Rows another transaction inserted
+     * first are skipped by each table's primary key or unique index.
+     */
+    private static final List<Merge> MERGES = List.of(
+            new Merge(STAGING_ARTIST, """
+                    INSERT INTO TidalArtist (id, name)
+                    SELECT DISTINCT ON (s.id) s.id, s.name FROM %s
+                    ON CONFLICT (id) DO NOTHING"""),
+            new Merge(STAGING_ALBUM, """
+                    INSERT INTO TidalAlbum (id, name)
+                    SELECT DISTINCT ON (s.id) s.id, s.name FROM %s
+                    ON CONFLICT (id) DO NOTHING"""),
+            new Merge(STAGING_ALBUM_ARTIST, """
+                    INSERT INTO TidalAlbum_TidalArtist (TidalAlbum_id, artists_id, artistOrder)
+                    SELECT DISTINCT ON (s.album_id, s.artist_order) s.album_id, s.artist_id, s.artist_order FROM %s
+                    WHERE NOT EXISTS (SELECT 1 FROM TidalAlbum_TidalArtist e WHERE e.TidalAlbum_id = s.album_id)
+                    ON CONFLICT DO NOTHING"""),
+            new Merge(STAGING_TRACK, """
+                    INSERT INTO TidalTrack (id, name, album_id, duration, isrc)
+                    SELECT DISTINCT ON (s.id) s.id, s.name, s.album_id, s.duration, s.isrc FROM %s
+                    ON CONFLICT (id) DO NOTHING"""),
+            new Merge(STAGING_TRACK_ARTIST, """
+                    INSERT INTO TidalTrack_TidalArtist (TidalTrack_id, artists_id, artistOrder)
+                    SELECT DISTINCT ON (s.track_id, s.artist_order) s.track_id, s.artist_id, s.artist_order FROM %s
+                    WHERE NOT EXISTS (SELECT 1 FROM TidalTrack_TidalArtist e WHERE e.TidalTrack_id = s.track_id)
+                    ON CONFLICT DO NOTHING"""),
+            new Merge(STAGING_TRACK_ALIAS, """
+                    INSERT INTO TidalTrack_searchAliases (TidalTrack_id, title, artist)
+                    SELECT DISTINCT s.track_id, s.title, s.artist FROM %s
+                    WHERE NOT EXISTS (SELECT 1 FROM TidalTrack_searchAliases e
+                                      WHERE e.TidalTrack_id = s.track_id AND e.title IS NOT DISTINCT FROM s.title AND e.artist IS NOT DISTINCT FROM s.artist)
+                    ON CONFLICT DO NOTHING""")
+    );
+
+    /**
+     * Copies tracks, along with their artists, albums and search aliases, into staging tables and merges them in the
+     * session's transaction. This suits large batches, for which the cost of creating the staging tables is small. The
+     * session is flushed first, so anything it has pending is written before the staged rows are merged.
+     *
+     * @param session              The session whose connection and transaction to use
+     * @param tracks               The tracks to store, with fully resolved artists and albums
+     * @param existingTrackAliases Search aliases to add to tracks that are already stored, keyed by track ID
+     */
+    public static void ingest(Session session, Collection<TidalTrack> tracks, Map<String, ? extends Collection<TrackAlias>> existingTrackAliases) {
+        var rows = stageRows(List.of(), List.of(), tracks, existingTrackAliases);
+
+        session.flush();
+        session.doWork(connection -> copyAndMerge(connection, rows));
+    }
+
+    /**
+     * Inserts tracks, along with their artists, albums and search aliases, in the session's transaction, binding their
+     * rows as arrays rather than copying them into staging tables. The session is flushed first.
+     *
+     * @param session              The session whose connection and transaction to use
+     * @param tracks               The tracks to store, with fully resolved artists and albums
+     * @param existingTrackAliases Search aliases to add to tracks that are already stored, keyed by track ID
+     */
+    public static void insert(Session session, Collection<TidalTrack> tracks, Map<String, ? extends Collection<TrackAlias>> existingTrackAliases) {
+        var rows = stageRows(List.of(), List.of(), tracks, existingTrackAliases);
+
+        session.flush();
+        session.doWork(connection -> bindAndMerge(connection, rows));
+    }
+
+    /**
+     * Inserts albums and their artists in the session's transaction, binding their rows as arrays.
+     *
+     * @param session The session whose connection and transaction to use
+     * @param albums  The albums to store, with fully resolved artists
+     */
+    public static void insertAlbums(Session session, Collection<TidalAlbum> albums) {
+        var rows = stageRows(List.of(), albums, List.of(), Map.of());
+
+        session.flush();
+        session.doWork(connection -> bindAndMerge(connection, rows));
+    }
+
+    /**
+     * Inserts artists in the session's transaction, binding their rows as arrays.
+     *
+     * @param session The session whose connection and transaction to use
+     * @param artists The artists to store
+     */
+    public static void insertArtists(Session session, Collection<TidalArtist> artists) {
+        var rows = stageRows(artists, List.of(), List.of(), Map.of());
+
+        session.flush();
+        session.doWork(connection -> bindAndMerge(connection, rows));
+    }
+
+    /**
+     * Collects the rows of every staging table for the given entities, including the artists and albums of the given
+     * tracks and the artists of the given albums.
+     */
+    private static Map<StagingTable, Rows> stageRows(Collection<TidalArtist> addingArtists, Collection<TidalAlbum> addingAlbums,
+                                                     Collection<TidalTrack> tracks, Map<String, ? extends Collection<TrackAlias>> existingTrackAliases) {
+        var artists = new LinkedHashMap<String, TidalArtist>();
+        var albums = new LinkedHashMap<String, TidalAlbum>();
+
+        var rows = new LinkedHashMap<StagingTable, Rows>();
+        for (var merge : MERGES) {
+            rows.put(merge.source(), new Rows());
+        }
+
+        for (var artist : addingArtists) {
+            artists.putIfAbsent(artist.getId(), artist);
+        }
+
+        for (var album : addingAlbums) {
+            albums.putIfAbsent(album.getId(), album);
+        }
+
+        for (var track : tracks) {
+            var album = track.getAlbum() instanceof TidalAlbum tidalAlbum ? tidalAlbum : null;
+            if (album != null) {
+                albums.putIfAbsent(album.getId(), album);
+            }
+
+            rows.get(STAGING_TRACK).add(track.getId(), track.getName(), album != null ? album.getId() : null, track.getDuration(), track.getIsrc());
+
+            addArtistRows(rows.get(STAGING_TRACK_ARTIST), track.getId(), track.getArtists().stream().map(TidalArtist.class::cast).toList(), artists);
+
+            for (var alias : track.getSearchAliases()) {
+                rows.get(STAGING_TRACK_ALIAS).add(track.getId(), alias.getTitle(), alias.getArtist());
+            }
+        }
+
+        existingTrackAliases.forEach((trackId, aliases) -> {
+            for (var alias : aliases) {
+                rows.get(STAGING_TRACK_ALIAS).add(trackId, alias.getTitle(), alias.getArtist());
+            }
+        });
+
+        for (var album : albums.values()) {
+            rows.get(STAGING_ALBUM).add(album.getId(), album.getName());
+            addArtistRows(rows.get(STAGING_ALBUM_ARTIST), album.getId(), album.getArtists().stream().map(TidalArtist.class::cast).toList(), artists);
+        }
+
+        for (var artist : artists.values()) {
+            rows.get(STAGING_ARTIST).add(artist.getId(), artist.getName());
+        }
+
+        return rows;
+    }
+
+    private static void copyAndMerge(Connection connection, Map<StagingTable, Rows> rows) throws SQLException {
+        try (var statement = connection.createStatement()) {
+            for (var stagingTable : rows.keySet()) {
+                statement.execute(stagingTable.createStatement());
+            }
+        }
+
+        var copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+        try {
+            for (var entry : rows.entrySet()) {
+                copyManager.copyIn("COPY %s FROM STDIN WITH (FORMAT csv)".formatted(entry.getKey().name()), entry.getValue().reader());
+            }
+        } catch (IOException e) {
+            // Only thrown by the reader, which reads from memory
+            throw new UncheckedIOException(e);
+        }
+
+        try (var statement = connection.createStatement()) {
+            var inserted = new int[MERGES.size()];
+            for (int i = 0; i < inserted.length; i++) {
+                var merge = MERGES.get(i);
+                inserted[i] = statement.executeUpdate(merge.sql().formatted(merge.source().name() + " s"));
+            }
+
+            statement.execute("DROP TABLE " + rows.keySet().stream().map(StagingTable::name).collect(Collectors.joining(", ")));
+
+            LOGGER.debug("Bulk ingested {} artists, {} albums, {} tracks and {} aliases ({} staged tracks)",
+                    inserted[0], inserted[1], inserted[3], inserted[5], rows.get(STAGING_TRACK).size());
+        }
+    }
+
+    private static void bindAndMerge(Connection connection, Map<StagingTable, Rows> rows) throws SQLException {
+        for (var merge : MERGES) {
+            var stagingRows = rows.get(merge.source());
+            if (stagingRows.size() == 0) {
+                continue;
+            }
+
+            try (var statement = connection.prepareStatement(merge.sql().formatted(merge.source().unnestSource()))) {
+                var columnTypes = merge.source().columnTypes();
+                for (int i = 0; i < columnTypes.size(); i++) {
+                    statement.setArray(i + 1, connection.createArrayOf(columnTypes.get(i), stagingRows.column(i)));
+                }
+
+                statement.executeUpdate();
+            }
+        }
+    }
+
+    /**
+     * Adds the join rows of an album or track's ordered artists, and collects the artists to be stored. Artists that
+     * couldn't be resolved are skipped.
+     */
+    private static void addArtistRows(Rows rows, String ownerId, List<TidalArtist> ownerArtists, Map<String, TidalArtist> artists) {
+        var order = 0;
+        for (var artist : ownerArtists) {
+            if (artist == null) {
+                continue;
+            }
+
+            artists.putIfAbsent(artist.getId(), artist);
+            rows.add(ownerId, artist.getId(), order++);
+        }
+    }
+
+    /**
+     * A temporary table rows are staged in before being merged.
+     *
+     * @param name    The name of the table
+     * @param columns The name and type of each column, such as {@code id text}
+     */
+    private record StagingTable(String name, List<String> columns) {
+
+        StagingTable(String name, String... columns) {
+            this(name, List.of(columns));
+        }
+
+        String createStatement() {
+            return "CREATE TEMP TABLE %s (%s)".formatted(name, String.join(", ", columns));
+        }
+
+        List<String> columnTypes() {
+            return columns.stream().map(column -> column.substring(column.indexOf(' ') + 1)).toList();
+        }
+
+        /**
+         * The table's rows read from one bound array per column, named as the staging table's columns are.
+         */
+        String unnestSource() {
+            var arrays = columnTypes().stream().map(type -> "?::" + type + "[]").collect(Collectors.joining(", "));
+            var names = columns.stream().map(column -> column.substring(0, column.indexOf(' '))).collect(Collectors.joining(", "));
+            return "unnest(%s) AS s (%s)".formatted(arrays, names);
+        }
+    }
+
+    /**
+     * A statement merging a staging table into an entity table.
+     *
+     * @param source The staging table the rows are read from
+     * @param sql    The statement, reading rows from {@code %s}
+     */
+    private record Merge(StagingTable source, String sql) {}
+
+    /**
+     * Staged rows, which are copied in Postgres' CSV {@code COPY} format, or bound as one array per column. When
+     * copied, every non-null value is quoted, so empty strings are kept apart from nulls, which are written as nothing.
+     */
+    private static class Rows {
+
+        private final List<Object[]> rows = new ArrayList<>();
+
+        void add(Object... values) {
+            rows.add(values);
+        }
+
+        int size() {
+            return rows.size();
+        }
+
+        Object[] column(int index) {
+            var column = new Object[rows.size()];
+            for (int i = 0; i < column.length; i++) {
+                column[i] = rows.get(i)[index];
+            }
+
+            return column;
+        }
+
+        StringReader reader() {
+            var builder = new StringBuilder();
+            for (var values : rows) {
+                for (int i = 0; i < values.length; i++) {
+                    if (i > 0) {
+                        builder.append(',');
+                    }
+
+                    if (values[i] != null) {
+                        builder.append('"').append(Objects.toString(values[i]).replace("\"", "\"\"")).append('"');
+                    }
+                }
+
+                builder.append('\n');
+            }
+
+            return new StringReader(builder.toString());
+        }
+    }
+}
@@ -0,0 +1,293 @@
+package dev.qilletni.lib.tidal.database;
+
+import dev.qilletni.api.music.MusicFetcher.TrackNameArtist;
+import dev.qilletni.lib.tidal.music.entities.TidalPlaylist;
+import dev.qilletni.lib.tidal.music.entities.TidalPlaylistIndex;
+import dev.qilletni.lib.tidal.music.entities.TidalTrack;
+import dev.qilletni.lib.tidal.music.entities.TidalUser;
+import org.hibernate.Session;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Reusable queries shared by the cache.
+ */
+public class EntityQueries {
+
+    /**
+     * The maximum number of IDs bound to a single {@code IN} list. Larger lookups are split into several queries.
+     */
+    static final int MAX_IN_LIST_SIZE = 512;
+
+    /**
+     * The smallest number of parameters an {@code IN} list is padded to.
+     */
+    private static final int MIN_IN_LIST_SIZE = 8;
+
+    /**
+     * Finds all entities of a given type with an ID in the given collection, using one {@code IN} query per
+     * {@link #MAX_IN_LIST_SIZE} IDs. Each chunk's parameter list is padded to the next power of two by repeating its
+     * last ID, so only a handful of distinct statements are ever generated and Postgres can reuse their plans.
+     * <p>
+     * Entities are returned in no particular order, and IDs with no entity are skipped.
+     *
+     * @param session The session to query with
+     * @param type    The entity type, which must have a {@code String} identifier. HQL resolves {@code id} to the
+     *                identifier property, whatever it is named
+     * @param ids     The IDs to look up. Duplicates are ignored
+     * @return The entities that were found
+     * @param <T> The type of entity to search for
+     */
+    public static <T> List<T> findAllById(Session session, Class<T> type, Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        var uniqueIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        var results = new ArrayList<T>(uniqueIds.size());
+        var queryString = "select e from %s e where e.id in (:ids)".formatted(type.getSimpleName());
+
+        for (int start = 0; start < uniqueIds.size(); start += MAX_IN_LIST_SIZE) {
+            var chunk = uniqueIds.subList(start, Math.min(start + MAX_IN_LIST_SIZE, uniqueIds.size()));
+
+            results.addAll(session.createQuery(queryString, type)
+                    .setParameterList("ids", padParameters(chunk))
+                    .getResultList());
+        }
+
+        return results;
+    }
+
+    /**
+     * Finds the IDs of an album's tracks, without loading the album itself.
+     *
+     * @param session The session to query with
+     * @param albumId The ID of the album
+     * @return The IDs of the album's tracks, in order, or an empty list if the album or its track list isn't stored
+     */
+    @SuppressWarnings("unchecked")
+    public static List<String> findAlbumTrackIds(Session session, String albumId) {
+        var trackIds = session.createQuery("select a.trackIds from TidalAlbum a where a.id = :id")
+                .setParameter("id", albumId)
+                .uniqueResult();
+
+        return trackIds != null ? (List<String>) trackIds : List.of();
+    }
+
+    /**
+     * Sets the IDs of an album's tracks, writing only that column.
+     *
+     * @param session  The session to update with
+     * @param albumId  The ID of the album
+     * @param trackIds The IDs of the album's tracks, in order
+     */
+    public static void updateAlbumTrackIds(Session session, String albumId, List<String> trackIds) {
+        session.flush();
+        session.doWork(connection -> {
+            try (var statement = connection.prepareStatement("UPDATE TidalAlbum SET trackIds = ? WHERE id = ?")) {
+                statement.setArray(1, connection.createArrayOf("text", trackIds.toArray()));
+                statement.setString(2, albumId);
+                statement.executeUpdate();
+            }
+        });
+    }
+
+    /**
+     * Finds a playlist's track index, without loading the playlist itself.
+     *
+     * @param session    The session to query with
+     * @param playlistId The ID of the playlist
+     * @return The playlist's index, if the playlist is stored
+     */
+    public static Optional<TidalPlaylistIndex> findPlaylistIndex(Session session, String playlistId) {
+        return session.createQuery("select p.tidalPlaylistIndex from TidalPlaylist p where p.id = :id", TidalPlaylistIndex.class)
+                .setParameter("id", playlistId)
+                .uniqueResultOptional();
+    }
+
+    /**
+     * Sets a playlist's track index, writing only the index's columns.
+     *
+     * @param session       The session to update with
+     * @param playlistId    The ID of the playlist
+     * @param playlistIndex The playlist's new index
+     */
+    public static void updatePlaylistIndex(Session session, String playlistId, TidalPlaylistIndex playlistIndex) {
+        session.flush();
+        session.doWork(connection -> {
+            try (var statement = connection.prepareStatement("UPDATE TidalPlaylist SET trackIds = ?, lastUpdatedIndex = ? WHERE id = ?")) {
+                statement.setArray(1, connection.createArrayOf("text", playlistIndex.getTrackIds().toArray()));
+                statement.setTimestamp(2, playlistIndex.getLastUpdatedIndex());
+                statement.setString(3, playlistId);
+                statement.executeUpdate();
+            }
+        });
+    }
+
+    /**
+     * Finds tracks by their exact name and the name of any of their artists, and optionally by their search aliases.
+     * Names and aliases are each matched with one query per {@link #MAX_IN_LIST_SIZE} searches, binding the searched
+     * titles and artists as two {@code IN} lists. As this also matches titles and artists from different searches, rows
+     * are filtered to the exact pairs searched for.
+     *
+     * @param session        The session to query with
+     * @param searches       The titles and artists to search for
+     * @param includeAliases If search aliases should be matched as well as names
+     * @return The first track found for each search that has one. Name matches take precedence over alias matches
+     */
+    public static Map<TrackNameArtist, TidalTrack> findTracksByNameAndArtist(Session session, Collection<TrackNameArtist> searches, boolean includeAliases) {
+        var uniqueSearches = new ArrayList<>(new LinkedHashSet<>(searches));
+        var results = new HashMap<TrackNameArtist, TidalTrack>();
+
+        for (int start = 0; start < uniqueSearches.size(); start += MAX_IN_LIST_SIZE) {
+            var chunk = uniqueSearches.subList(start, Math.min(start + MAX_IN_LIST_SIZE, uniqueSearches.size()));
+            var wanted = new HashSet<>(chunk);
+
+            var names = padParameters(chunk.stream().map(TrackNameArtist::name).distinct().toList());
+            var artists = padParameters(chunk.stream().map(TrackNameArtist::artist).distinct().toList());
+
+            var nameRows = session.createQuery("select t, a.name from TidalTrack t join t.artists a where t.name in (:names) and a.name in (:artists)", Object[].class)
+                    .setParameterList("names", names)
+                    .setParameterList("artists", artists)
+                    .getResultList();
+
+            for (var row : nameRows) {
+                var track = (TidalTrack) row[0];
+                var search = new TrackNameArtist(track.getName(), (String) row[1]);
+                if (wanted.contains(search)) {
+                    results.putIfAbsent(search, track);
+                }
+            }
+
+            if (!includeAliases) {
+                continue;
+            }
+
+            var aliasRows = session.createQuery("select t, sa.title, sa.artist from TidalTrack t join t.searchAliases sa where sa.title in (:names) and sa.artist in (:artists)", Object[].class)
+                    .setParameterList("names", names)
+                    .setParameterList("artists", artists)
+                    .getResultList();
+
+            for (var row : aliasRows) {
+                var search = new TrackNameArtist((String) row[1], (String) row[2]);
+                if (wanted.contains(search)) {
+                    results.putIfAbsent(search, (TidalTrack) row[0]);
+                }
+            }
+        }
+
+        return results;
+    }
+
+    /**
+     * Finds tracks by their ISRCs, with one {@code IN} query per {@link #MAX_IN_LIST_SIZE} ISRCs. As several tracks may
+     * share an ISRC, the one with the lowest ID is picked, so the same ISRC always resolves to the same track.
+     *
+     * @param session The session to query with
+     * @param isrcs   The ISRCs to look up. They're normalized with {@link TidalTrack#normalizeIsrc(String)}, and
+     *                duplicates and blank ISRCs are ignored
+     * @return The track found for each ISRC that has one, keyed by normalized ISRC
+     */
+    public static Map<String, TidalTrack> findTracksByIsrc(Session session, Collection<String> isrcs) {
+        var normalizedIsrcs = new LinkedHashSet<String>();
+        for (var isrc : isrcs) {
+            var normalizedIsrc = TidalTrack.normalizeIsrc(isrc);
+            if (normalizedIsrc != null) {
+                normalizedIsrcs.add(normalizedIsrc);
+            }
+        }
+
+        var uniqueIsrcs = new ArrayList<>(normalizedIsrcs);
+        var results = new HashMap<String, TidalTrack>();
+
+        for (int start = 0; start < uniqueIsrcs.size(); start += MAX_IN_LIST_SIZE) {
+            var chunk = uniqueIsrcs.subList(start, Math.min(start + MAX_IN_LIST_SIZE, uniqueIsrcs.size()));
+
+            var tracks = session.createQuery("select t from TidalTrack t where t.isrc in (:isrcs) order by t.id", TidalTrack.class)
+                    .setParameterList("isrcs", padParameters(chunk))
+                    .getResultList();
+
+            for (var track : tracks) {
+                results.putIfAbsent(TidalTrack.normalizeIsrc(track.getIsrc()), track);
+            }
+        }
+
+        return results;
+    }
+
+    /**
+     * Sets the ISRCs of stored tracks that don't have one yet, such as tracks stored before ISRCs were kept. Only the one
+     * column is updated, in ID order, and tracks that already have an ISRC are left as they are.
+     *
+     * @param session The session to update with
+     * @param isrcs   The ISRC of each track, keyed by track ID
+     */
+    public static void fillMissingIsrcs(Session session, Map<String, String> isrcs) {
+        for (var entry : new TreeMap<>(isrcs).entrySet()) {
+            session.createQuery("update TidalTrack t set t.isrc = :isrc where t.id = :id and t.isrc is null")
+                    .setParameter("isrc", entry.getValue())
+                    .setParameter("id", entry.getKey())
+                    .executeUpdate();
+        }
+    }
+
+    /**
+     * Inserts a playlist and its creator, unless they are already stored, including by another transaction at the same
+     * time. A newly inserted playlist's index is empty.
+     *
+     * @param session  The session to insert with
+     * @param playlist The playlist to insert
+     */
+    public static void insertPlaylist(Session session, TidalPlaylist playlist) {
+        var creator = (TidalUser) playlist.getCreator();
+
+        session.createNativeQuery("INSERT INTO TidalUser (id, name) VALUES (:id, :name) ON CONFLICT (id) DO NOTHING")
+                .setParameter("id", creator.getId())
+                .setParameter("name", creator.getName())
+                .executeUpdate();
+
+        session.createNativeQuery("""
+                        INSERT INTO TidalPlaylist (id, title, trackCount, creator_id, trackIds, lastUpdatedIndex)
+                        VALUES (:id, :title, :trackCount, :creatorId, '{}', :lastUpdatedIndex)
+                        ON CONFLICT (id) DO NOTHING""")
+                .setParameter("id", playlist.getId())
+                .setParameter("title", playlist.getTitle())
+                .setParameter("trackCount", playlist.getTrackCount())
+                .setParameter("creatorId", creator.getId())
+                .setParameter("lastUpdatedIndex", new Timestamp(0))
+                .executeUpdate();
+    }
+
+    /**
+     * Pads a list of parameters to the next power of two (and at least {@link #MIN_IN_LIST_SIZE}) by repeating the
+     * last element. Repeated values in an {@code IN} list don't change its result.
+     *
+     * @param parameters The parameters to pad, which must not be empty
+     * @return The padded parameters
+     */
+    static List<String> padParameters(List<String> parameters) {
+        var paddedSize = Math.max(MIN_IN_LIST_SIZE, Integer.highestOneBit(parameters.size() - 1) << 1);
+        if (paddedSize == parameters.size()) {
+            return parameters;
+        }
+
+        var padded = new ArrayList<String>(paddedSize);
+        padded.addAll(parameters);
+
+        var last = parameters.getLast();
+        while (padded.size() < paddedSize) {
+            padded.add(last);
+        }
+
+        return padded;
+    }
+}
@@ -1,20 +1,110 @@
 package dev.qilletni.lib.tidal.database;
 
+import org.hibernate.FlushMode;
 import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+/**
+ * A session and transaction for a single lookup or write. Read-write transactions are only committed if they were
+ * marked successful with {@link #markSuccessful()} before being closed, so one left by an exception is rolled back.
+ */
 public class EntityTransaction implements AutoCloseable {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(EntityTransaction.class);
+
     private final Session session;
 
-    private EntityTransaction(Session session) {
+    /**
+     * If this joined the thread's {@link UnitOfWork}, which is then responsible for committing and closing the session.
+     */
+    private final boolean joined;
+
+    /**
+     * If this was begun for lookups only, in which case it never commits anything or rolls back a unit of work.
+     */
+    private final boolean readOnly;
+
+    private boolean successful;
+
+    private EntityTransaction(Session session, boolean joined, boolean readOnly) {
         this.session = session;
+        this.joined = joined;
+        this.readOnly = readOnly;
     }
-    
+
+    /**
+     * Begins a read-write transaction, joining the current thread's {@link UnitOfWork} if it's read-write.
+     *
+     * @return The transaction, which is committed when closed if it was marked successful
+     */
     public static EntityTransaction beginTransaction() {
+        var unitOfWork = UnitOfWork.current();
+        if (unitOfWork.isPresent() && !unitOfWork.get().isReadOnly()) {
+            return new EntityTransaction(unitOfWork.get().getSession(), true, false);
+        }
+
+        return new EntityTransaction(openSession(false), false, false);
+    }
+
+    /**
+     * Begins a transaction for lookups only, joining the current thread's {@link UnitOfWork} of either kind. Entities
+     * loaded outside a unit of work are read-only, and the session is never flushed.
+     *
+     * @return The transaction, which is ended when closed
+     */
+    public static EntityTransaction beginReadOnly() {
+        var unitOfWork = UnitOfWork.current();
+        if (unitOfWork.isPresent()) {
+            return new EntityTransaction(unitOfWork.get().getSession(), true, true);
+        }
+
+        return new EntityTransaction(openSession(true), false, true);
+    }
+
+    static Session openSession(boolean readOnly) {
         var session = HibernateUtil.getSessionFactory().openSession();
+
+        if (readOnly) {
+            session.setDefaultReadOnly(true);
+            session.setHibernateFlushMode(FlushMode.MANUAL);
+        }
+
         session.beginTransaction();
+        return session;
+    }
+
+    /**
+     * Ends a session's transaction and closes it. The transaction is committed only if asked to and no part of it has
+     * marked it rollback-only, and is rolled back otherwise.
+     *
+     * @param session The session to end
+     * @param commit  If the work done in the session completed and should be committed
+     */
+    static void endSession(Session session, boolean commit) {
+        try {
+            var transaction = session.getTransaction();
+            if (commit && !transaction.getRollbackOnly()) {
+                transaction.commit();
+                return;
+            }
+
+            if (commit) {
+                LOGGER.warn("Rolling back a transaction that completed, as a part of it failed");
+            }
+
+            transaction.rollback();
+        } finally {
+            session.close();
+        }
+    }
 
-        return new EntityTransaction(session);
+    /**
+     * Marks the transaction as successful, so it's committed when closed. This should be the last thing done in the
+     * transaction. If this joined a {@link UnitOfWork}, closing it without this marks the unit of work rollback-only.
+     */
+    public void markSuccessful() {
+        successful = true;
     }
 
     public Session getSession() {
@@ -23,7 +113,10 @@ public class EntityTransaction implements AutoCloseable {
 
     @Override
     public void close() {
-        session.getTransaction().commit();
-        session.close();
+        if (!joined) {
+            endSession(session, successful && !readOnly);
+        } else if (!successful && !readOnly) {
+            session.getTransaction().setRollbackOnly();
+        }
     }
 }
@@ -1,6 +1,9 @@
 package dev.qilletni.lib.tidal.database;
 
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
 import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
 import org.hibernate.cfg.Configuration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -12,26 +15,81 @@ public class HibernateUtil {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(HibernateUtil.class);
 
+    public static final int DEFAULT_POOL_SIZE = 10;
+
     private static SessionFactory sessionFactory;
+    private static HikariDataSource dataSource;
 
     public static void initializeSessionFactory(String url, String username, String password) {
+        initializeSessionFactory(url, username, password, DEFAULT_POOL_SIZE, false);
+    }
+
+    /**
+     * Creates the session factory, backed by a pool of connections to the database. This does nothing if the session
+     * factory has already been created.
+     * <p>
+     * The schema is brought up to date by {@link SchemaMigrator} first. Hibernate never changes it, and only checks the
+     * entity mappings against it if {@code validateSchema} is set, as that introspects every table on startup.
+     *
+     * @param url            The JDBC URL of the database
+     * @param username       The username to connect with
+     * @param password       The password to connect with
+     * @param poolSize       The maximum number of pooled connections
+     * @param validateSchema If the entity mappings should be validated against the migrated schema
+     */
+    public static void initializeSessionFactory(String url, String username, String password, int poolSize, boolean validateSchema) {
         if (sessionFactory != null) {
             return;
         }
 
         try {
-            sessionFactory = new Configuration()
-                    .configure("tidal-hibernate.cfg.xml")
-                    .setProperty("hibernate.connection.url", url)
-                    .setProperty("hibernate.connection.username", username)
-                    .setProperty("hibernate.connection.password", password)
-                    .buildSessionFactory();
+            var hikariConfig = new HikariConfig();
+            hikariConfig.setPoolName("qilletni-tidal");
+            hikariConfig.setJdbcUrl(url);
+            hikariConfig.setUsername(username);
+            hikariConfig.setPassword(password);
+            hikariConfig.setMaximumPoolSize(Math.max(1, poolSize));
+            hikariConfig.setMinimumIdle(Math.min(2, Math.max(1, poolSize)));
+            // Hibernate manages transactions itself, so don't pay for an autocommit toggle on every checkout
+            hikariConfig.setAutoCommit(false);
+
+            dataSource = new HikariDataSource(hikariConfig);
+
+            SchemaMigrator.migrate(dataSource);
+
+            var configuration = new Configuration().configure("tidal-hibernate.cfg.xml");
+            configuration.getProperties().put(AvailableSettings.DATASOURCE, dataSource);
+            configuration.setProperty(AvailableSettings.CONNECTION_PROVIDER_DISABLES_AUTOCOMMIT, "true");
+            configuration.setProperty(AvailableSettings.HBM2DDL_AUTO, validateSchema ? "validate" : "none");
+
+            sessionFactory = configuration.buildSessionFactory();
         } catch (Throwable ex) {
             LOGGER.error("Initial SessionFactory creation failed", ex);
+
+            if (dataSource != null) {
+                dataSource.close();
+                dataSource = null;
+            }
+
             throw new ExceptionInInitializerError(ex);
         }
     }
 
+    /**
+     * Closes the session factory and its connection pool, if they have been created.
+     */
+    public static void shutdown() {
+        if (sessionFactory != null) {
+            sessionFactory.close();
+            sessionFactory = null;
+        }
+
+        if (dataSource != null) {
+            dataSource.close();
+            dataSource = null;
+        }
+    }
+
     public static boolean createDatabaseIfNotExists(String url, String username, String password) {
         // Extract database name from JDBC URL (e.g., jdbc:postgresql://localhost:5432/qilletni_tidal)
         var databaseName = url.substring(url.lastIndexOf('/') + 1);
@@ -0,0 +1,200 @@
+package dev.qilletni.lib.tidal.database;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Applies versioned SQL migrations to the database, in place of Hibernate's schema update. Each migration is a script
+ * in {@code db/migration}, named {@code V<version>__<description>.sql}, and is applied once in its own transaction.
+ * Applied versions are recorded in the {@code schema_version} table, so startup only has to read that table rather
+ * than introspect the whole schema.
+ * <p>
+ * Scripts can't be listed from inside a jar, so every script must also be added to {@link #MIGRATIONS}. Once a script
+ * has been released it must never change, as databases that already applied it won't apply it again. Schema changes
+ * go in a new script with the next version.
+ */
+public class SchemaMigrator {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SchemaMigrator.class);
+
+    private static final List<String> MIGRATIONS = List.of(
+            "V1__baseline.sql",
+            "V2__lookup_indexes.sql",
+            "V3__playlist_index_ttl.sql",
+            "V4__track_id_arrays.sql",
+            "V5__track_isrc.sql",
+            "V6__unique_track_aliases.sql"
+    );
+
+    private static final Pattern SCRIPT_NAME_PATTERN = Pattern.compile("V(\\d+)__(\\w+)\\.sql");
+
+    /**
+     * Statements end with a semicolon at the end of a line. Scripts don't use function bodies or other quoted blocks
+     * that could contain one.
+     */
+    private static final Pattern STATEMENT_END_PATTERN = Pattern.compile(";\\s*$", Pattern.MULTILINE);
+
+    /**
+     * The key of the advisory lock held while migrating, so that concurrent startups apply each migration only once.
+     */
+    private static final long MIGRATION_LOCK_KEY = 0x5154_4944_414CL;
+
+    private static final String CREATE_VERSION_TABLE = """
+            CREATE TABLE IF NOT EXISTS schema_version (
+                version int4 NOT NULL,
+                description varchar(255) NOT NULL,
+                appliedAt timestamp NOT NULL DEFAULT now(),
+                PRIMARY KEY (version)
+            )""";
+
+    /**
+     * Applies every migration that the database hasn't applied yet, in version order, each in its own transaction.
+     *
+     * @param dataSource The data source to connect with
+     * @throws SQLException If a migration failed, in which case it has been rolled back and none after it are applied
+     */
+    public static void migrate(DataSource dataSource) throws SQLException {
+        var migrations = MIGRATIONS.stream().map(Migration::load).toList();
+
+        try (var connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+
+            inTransaction(connection, () -> {
+                try (var statement = connection.createStatement()) {
+                    statement.execute(CREATE_VERSION_TABLE);
+                }
+            });
+
+            var appliedCount = 0;
+            for (var migration : migrations) {
+                var applied = new boolean[1];
+
+                inTransaction(connection, () -> {
+                    // Checked under the lock, as another startup may have applied it since
+                    if (getAppliedVersion(connection) < migration.version()) {
+                        LOGGER.info("Applying schema migration {} ({})", migration.version(), migration.description());
+                        apply(connection, migration);
+                        applied[0] = true;
+                    }
+                });
+
+                if (applied[0]) {
+                    appliedCount++;
+                }
+            }
+
+            LOGGER.debug("Applied {} schema migrations, schema is at version {}", appliedCount, migrations.getLast().version());
+        }
+    }
+
+    /**
+     * Runs work in a transaction that holds the migration lock, committing it if the work succeeds and rolling it back
+     * otherwise. Postgres runs DDL transactionally, so a failed migration leaves no trace.
+     */
+    private static void inTransaction(Connection connection, SqlWork work) throws SQLException {
+        try {
+            lock(connection);
+            work.run();
+            connection.commit();
+        } catch (SQLException | RuntimeException e) {
+            connection.rollback();
+            throw e;
+        }
+    }
+
+    /**
+     * Takes the migration lock, which is released when the connection's transaction ends.
+     */
+    private static void lock(Connection connection) throws SQLException {
+        try (var statement = connection.prepareStatement("SELECT pg_advisory_xact_lock(?)")) {
+            statement.setLong(1, MIGRATION_LOCK_KEY);
+            statement.execute();
+        }
+    }
+
+    private static int getAppliedVersion(Connection connection) throws SQLException {
+        try (var statement = connection.createStatement();
+             var resultSet = statement.executeQuery("SELECT coalesce(max(version), 0) FROM schema_version")) {
+            resultSet.next();
+            return resultSet.getInt(1);
+        }
+    }
+
+    /**
+     * Runs a migration's statements and records its version, in the caller's transaction.
+     */
+    private static void apply(Connection connection, Migration migration) throws SQLException {
+        try (var statement = connection.createStatement()) {
+            for (var sql : migration.statements()) {
+                statement.execute(sql);
+            }
+        }
+
+        try (var statement = connection.prepareStatement("INSERT INTO schema_version (version, description) VALUES (?, ?)")) {
+            statement.setInt(1, migration.version());
+            statement.setString(2, migration.description());
+            statement.executeUpdate();
+        }
+    }
+
+    @FunctionalInterface
+    private interface SqlWork {
+        void run() throws SQLException;
+    }
+
+    /**
+     * A migration script, split into its statements.
+     *
+     * @param version     The version the script migrates the schema to
+     * @param description What the script does, from its name
+     * @param statements  The statements of the script, without comments
+     */
+    private record Migration(int version, String description, List<String> statements) {
+
+        static Migration load(String scriptName) {
+            var matcher = SCRIPT_NAME_PATTERN.matcher(scriptName);
+            if (!matcher.matches()) {
+                throw new IllegalStateException("Invalid migration script name: " + scriptName);
+            }
+
+            String script;
+            try (var inputStream = SchemaMigrator.class.getResourceAsStream("/db/migration/" + scriptName)) {
+                if (inputStream == null) {
+                    throw new IllegalStateException("Migration script not found: " + scriptName);
+                }
+
+                script = new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            return new Migration(Integer.parseInt(matcher.group(1)), matcher.group(2).replace('_', ' '), splitStatements(script));
+        }
+
+        private static List<String> splitStatements(String script) {
+            var withoutComments = script.lines()
+                    .filter(line -> !line.strip().startsWith("--"))
+                    .collect(Collectors.joining("\n"));
+
+            var statements = new ArrayList<String>();
+            for (var statement : STATEMENT_END_PATTERN.split(withoutComments)) {
+                if (!statement.isBlank()) {
+                    statements.add(statement.strip());
+                }
+            }
+
+            return statements;
+        }
+    }
+}
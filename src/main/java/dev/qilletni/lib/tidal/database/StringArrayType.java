@@ -0,0 +1,89 @@
+package dev.qilletni.lib.tidal.database;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.usertype.UserType;
+
+import java.io.Serializable;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Maps a {@code List<String>} to a Postgres {@code text[]} column, so an ordered list of IDs can be stored in a single
+ * row rather than a join table with a row per element. Lists are read as immutable, so they are never dirty-checked
+ * element by element, and are replaced as a whole to change them.
+ */
+public class StringArrayType implements UserType {
+
+    @Override
+    public int[] sqlTypes() {
+        return new int[] {Types.ARRAY};
+    }
+
+    @Override
+    public Class<?> returnedClass() {
+        return List.class;
+    }
+
+    @Override
+    public boolean equals(Object x, Object y) {
+        return Objects.equals(x, y);
+    }
+
+    @Override
+    public int hashCode(Object x) {
+        return Objects.hashCode(x);
+    }
+
+    @Override
+    public Object nullSafeGet(ResultSet rs, String[] names, SharedSessionContractImplementor session, Object owner) throws SQLException {
+        var array = rs.getArray(names[0]);
+        if (array == null) {
+            return null;
+        }
+
+        try {
+            return List.of((String[]) array.getArray());
+        } finally {
+            array.free();
+        }
+    }
+
+    @Override
+    public void nullSafeSet(PreparedStatement st, Object value, int index, SharedSessionContractImplementor session) throws SQLException {
+        if (value == null) {
+            st.setNull(index, Types.ARRAY);
+            return;
+        }
+
+        st.setArray(index, st.getConnection().createArrayOf("text", ((List<?>) value).toArray()));
+    }
+
+    @Override
+    public Object deepCopy(Object value) {
+        return value != null ? List.copyOf((List<?>) value) : null;
+    }
+
+    @Override
+    public boolean isMutable() {
+        return false;
+    }
+
+    @Override
+    public Serializable disassemble(Object value) {
+        return (Serializable) deepCopy(value);
+    }
+
+    @Override
+    public Object assemble(Serializable cached, Object owner) {
+        return cached;
+    }
+
+    @Override
+    public Object replace(Object original, Object target, Object owner) {
+        return original;
+    }
+}
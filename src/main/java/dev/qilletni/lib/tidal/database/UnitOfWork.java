@@ -0,0 +1,117 @@
+package dev.qilletni.lib.tidal.database;
+
+import org.hibernate.Session;
+
+import java.util.Optional;
+
+/**
+ * A session and transaction bound to the current thread, which every {@link EntityTransaction} begun on the thread
+ * joins until it is closed. This lets a high-level operation make many lookups and writes in a single transaction,
+ * rather than each opening and committing its own.
+ * <p>
+ * A unit of work is either read-write or read-only. Beginning a unit of work while one is already active joins it,
+ * except for a read-write one inside a read-only one, which starts a separate read-write unit of work that is
+ * committed when it's closed. Units of work must be closed in the reverse order they were begun, so they should always
+ * be used with try-with-resources.
+ * <p>
+ * A read-write unit of work is only committed if it was marked successful with {@link #markSuccessful()} before being
+ * closed, and if every read-write part that joined it was too. Otherwise, such as when an exception is thrown out of
+ * it, the whole unit of work is rolled back. Read-only units of work never flush, so changes made to entities loaded in
+ * them are not written.
+ */
+public class UnitOfWork implements AutoCloseable {
+
+    private static final ThreadLocal<UnitOfWork> CURRENT = new ThreadLocal<>();
+
+    private final Session session;
+    private final boolean readOnly;
+    private final UnitOfWork parent;
+
+    /**
+     * If this joined a unit of work that was already active, which is then responsible for ending the session.
+     */
+    private final boolean joined;
+
+    private boolean successful;
+
+    private UnitOfWork(Session session, boolean readOnly, UnitOfWork parent, boolean joined) {
+        this.session = session;
+        this.readOnly = readOnly;
+        this.parent = parent;
+        this.joined = joined;
+    }
+
+    /**
+     * Begins a read-write unit of work on the current thread, or joins the active one if it's also read-write.
+     *
+     * @return The unit of work, which must be marked successful and closed to commit it
+     */
+    public static UnitOfWork begin() {
+        return begin(false);
+    }
+
+    /**
+     * Begins a read-only unit of work on the current thread, or joins the active one of either kind.
+     *
+     * @return The unit of work, which must be closed to end it
+     */
+    public static UnitOfWork beginReadOnly() {
+        return begin(true);
+    }
+
+    private static UnitOfWork begin(boolean readOnly) {
+        var current = CURRENT.get();
+        if (current != null && (readOnly || !current.readOnly)) {
+            return new UnitOfWork(current.session, readOnly, null, true);
+        }
+
+        var unitOfWork = new UnitOfWork(EntityTransaction.openSession(readOnly), readOnly, current, false);
+        CURRENT.set(unitOfWork);
+        return unitOfWork;
+    }
+
+    /**
+     * Gets the unit of work active on the current thread.
+     *
+     * @return The active unit of work, if any
+     */
+    public static Optional<UnitOfWork> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    public Session getSession() {
+        return session;
+    }
+
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+
+    /**
+     * Marks the unit of work as successful, so it's committed when closed. This should be the last thing done in it.
+     */
+    public void markSuccessful() {
+        successful = true;
+    }
+
+    @Override
+    public void close() {
+        if (joined) {
+            if (!successful && !readOnly) {
+                session.getTransaction().setRollbackOnly();
+            }
+
+            return;
+        }
+
+        try {
+            EntityTransaction.endSession(session, successful && !readOnly);
+        } finally {
+            if (parent != null) {
+                CURRENT.set(parent);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+}
@@ -7,101 +7,211 @@ import dev.qilletni.api.music.MusicCache;
 import dev.qilletni.api.music.MusicFetcher;
 import dev.qilletni.api.music.Playlist;
 import dev.qilletni.api.music.Track;
+import dev.qilletni.lib.tidal.database.BulkTrackIngester;
+import dev.qilletni.lib.tidal.database.EntityQueries;
 import dev.qilletni.lib.tidal.database.EntityTransaction;
+import dev.qilletni.lib.tidal.database.UnitOfWork;
+import dev.qilletni.lib.tidal.music.cache.EntityCache;
+import dev.qilletni.lib.tidal.music.cache.LazyTrackList;
+import dev.qilletni.lib.tidal.music.cache.PlaylistIndexRefresher;
+import dev.qilletni.lib.tidal.music.cache.SearchResultCache;
+import dev.qilletni.lib.tidal.music.cache.SingleFlight;
 import dev.qilletni.lib.tidal.music.entities.*;
 import dev.qilletni.lib.tidal.music.entities.stubs.TidalTrackStub;
 import dev.qilletni.lib.tidal.music.strategies.TidalMusicStrategies;
-import org.hibernate.Session;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Join;
-import javax.persistence.criteria.JoinType;
-import javax.persistence.criteria.Predicate;
-import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Duration;
 import java.time.Instant;
-import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 public class TidalMusicCache implements MusicCache {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(TidalMusicCache.class);
 
+    public static final int DEFAULT_ENTITY_CACHE_SIZE = 10_000;
+    public static final Duration DEFAULT_ENTITY_CACHE_TTL = Duration.ofMinutes(30);
+    public static final int DEFAULT_BULK_INGEST_THRESHOLD = 1_000;
+
     private final TidalMusicFetcher tidalMusicFetcher;
 
+    /**
+     * In-memory caches of resolved entities, consulted before the database.
+     */
+    private final EntityCache<TidalTrack> trackCache;
+    private final EntityCache<TidalAlbum> albumCache;
+    private final EntityCache<TidalArtist> artistCache;
+    private final EntityCache<TidalPlaylist> playlistCache;
+
+    private final SearchResultCache searchResultCache;
+
+    /**
+     * Refreshes expired playlist indexes in the background, while the expired ones are still served.
+     */
+    private final PlaylistIndexRefresher playlistIndexRefresher;
+
+    /**
+     * Loads the next page of each {@link LazyTrackList} in the background as the one before it is read.
+     */
+    private final ExecutorService readAheadExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * The number of new tracks in a single store at which they are copied in bulk through staging tables, rather than
+     * bound to each insert. 0 disables bulk ingestion.
+     */
+    private final int bulkIngestThreshold;
+
+    /**
+     * Coalesce concurrent lookups of the same key, so they share one database lookup and API request rather than each
+     * fetching and racing to store the same entity.
+     */
+    private final SingleFlight<String, Optional<Track>> trackFlights = new SingleFlight<>();
+    private final SingleFlight<MusicFetcher.TrackNameArtist, Optional<Track>> trackSearchFlights = new SingleFlight<>();
+    private final SingleFlight<String, Optional<Track>> trackIsrcFlights = new SingleFlight<>();
+    private final SingleFlight<String, Optional<Album>> albumFlights = new SingleFlight<>();
+    private final SingleFlight<NameLookup, Optional<Album>> albumSearchFlights = new SingleFlight<>();
+    private final SingleFlight<String, Optional<Artist>> artistFlights = new SingleFlight<>();
+    private final SingleFlight<String, Optional<Artist>> artistSearchFlights = new SingleFlight<>();
+    private final SingleFlight<String, Optional<Playlist>> playlistFlights = new SingleFlight<>();
+    private final SingleFlight<NameLookup, Optional<Playlist>> playlistSearchFlights = new SingleFlight<>();
+    private final SingleFlight<String, List<Track>> albumTrackFlights = new SingleFlight<>();
+    private final SingleFlight<String, List<Track>> playlistTrackFlights = new SingleFlight<>();
+
     public TidalMusicCache(TidalMusicFetcher tidalMusicFetcher) {
+        this(tidalMusicFetcher, DEFAULT_ENTITY_CACHE_SIZE, DEFAULT_ENTITY_CACHE_TTL, new SearchResultCache(), DEFAULT_BULK_INGEST_THRESHOLD, PlaylistIndexRefresher.DEFAULT_TTL, Map.of());
+    }
+
+    /**
+     * Creates a new {@link TidalMusicCache}.
+     *
+     * @param tidalMusicFetcher   The fetcher to use for anything not found in the cache
+     * @param entityCacheSize     The maximum number of entities of each type to hold in memory. 0 disables it
+     * @param entityCacheTtl      How long an entity is held in memory before it is looked up again
+     * @param searchResultCache   The persistent cache of track search outcomes
+     * @param bulkIngestThreshold The number of new tracks in a single store at which they are copied in bulk. 0
+     *                            disables bulk ingestion
+     * @param playlistIndexTtl    How long a playlist's track index lasts before it's refreshed, unless the playlist has
+     *                            its own TTL
+     * @param playlistIndexTtls   The TTLs of playlists whose track indexes last a different time, keyed by playlist ID
+     */
+    public TidalMusicCache(TidalMusicFetcher tidalMusicFetcher, int entityCacheSize, Duration entityCacheTtl, SearchResultCache searchResultCache, int bulkIngestThreshold, Duration playlistIndexTtl, Map<String, Duration> playlistIndexTtls) {
         this.tidalMusicFetcher = tidalMusicFetcher;
+        this.searchResultCache = searchResultCache;
+        this.bulkIngestThreshold = bulkIngestThreshold;
+        this.trackCache = new EntityCache<>(entityCacheSize, entityCacheTtl);
+        this.albumCache = new EntityCache<>(entityCacheSize, entityCacheTtl);
+        this.artistCache = new EntityCache<>(entityCacheSize, entityCacheTtl);
+        this.playlistCache = new EntityCache<>(entityCacheSize, entityCacheTtl);
+        this.playlistIndexRefresher = new PlaylistIndexRefresher(playlistIndexTtl, playlistIndexTtls,
+                playlistId -> playlistTrackFlights.run(playlistId, () -> refreshPlaylistTracks(playlistId)));
+    }
+
+    /**
+     * Stops refreshing playlist indexes and reading ahead in track lists in the background.
+     */
+    public void shutdown() {
+        playlistIndexRefresher.shutdown();
+        readAheadExecutor.shutdown();
     }
 
     @Override
     public Optional<Track> getTrack(String name, String artist) {
-        try (var entityTransaction = EntityTransaction.beginTransaction()) {
+        return trackSearchFlights.run(new MusicFetcher.TrackNameArtist(name, artist), () -> loadTrack(name, artist));
+    }
+
+    private Optional<Track> loadTrack(String name, String artist) {
+        try (var entityTransaction = EntityTransaction.beginReadOnly()) {
             var session = entityTransaction.getSession();
 
-            var builder = session.getCriteriaBuilder();
-            var criteria = builder.createQuery(TidalTrack.class);
-            var root = criteria.from(TidalTrack.class);
+            // Names and aliases are matched by separate queries, as ORing across both joins can't use either's index
+            var search = new MusicFetcher.TrackNameArtist(name, artist);
+            var tracks = EntityQueries.findTracksByNameAndArtist(session, List.of(search), tidalMusicFetcher.shouldCacheAliases());
 
-            if (tidalMusicFetcher.shouldCacheAliases()) {
-                Join<TidalTrack, TidalArtist> artistsJoin = root.join("artists", JoinType.LEFT);
-                Join<TidalTrack, TrackAlias> aliasesJoin = root.join("searchAliases", JoinType.LEFT);
+            if (tracks.containsKey(search)) {
+                LOGGER.debug("Returning cached track by name and artist");
+                return Optional.of(tracks.get(search));
+            }
+        }
 
-                var mainPredicate = builder.and(
-                        builder.equal(root.get("name"), name),
-                        builder.equal(artistsJoin.get("name"), artist)
-                );
+        if (!tidalMusicFetcher.shouldCacheAliases()) {
+            // Fetch from API, resolve stubs, and store
+            return tidalMusicFetcher.fetchTrack(name, artist)
+                    .map(this::storeTrack);
+        }
 
-                var aliasPredicate = builder.and(
-                        builder.equal(aliasesJoin.get("title"), name),
-                        builder.equal(aliasesJoin.get("artist"), artist)
-                );
+        // Reuse the outcome of an identical earlier search, whether it matched or not
+        var cachedSearch = searchResultCache.lookup(name, artist);
+        if (cachedSearch.isPresent()) {
+            var trackId = cachedSearch.get().trackId();
+            if (trackId.isEmpty()) {
+                LOGGER.debug("Returning cached search miss for ({}, {})", name, artist);
+                return Optional.empty();
+            }
 
-                criteria.where(builder.or(mainPredicate, aliasPredicate));
-                criteria.distinct(true);
-            } else {
-                // Use exact lookup if the strategy is NOT cachable
-                // TODO: Should there be a setting to use aliases if the strategy is NOT cachable?
-                Join<TidalTrack, TidalArtist> artistsJoin = root.join("artists");
+            LOGGER.debug("Returning cached search result for ({}, {})", name, artist);
+            return getTrackById(trackId.get());
+        }
 
-                var trackNamePredicate = builder.equal(root.get("name"), name);
-                var artistPredicate = builder.equal(artistsJoin.get("name"), artist);
+        // Fetch from API, resolve stubs, store, and remember the outcome
+        var searchResult = tidalMusicFetcher.searchTrack(name, artist);
+        if (searchResult.failed()) {
+            return Optional.empty();
+        }
 
-                criteria.where(trackNamePredicate, artistPredicate);
-            }
+        if (searchResult.track() == null) {
+            searchResultCache.recordMiss(name, artist);
+            return Optional.empty();
+        }
 
-            var tracks = session.createQuery(criteria).getResultList();
+        // Store the track and its search outcome in one transaction, only begun once its stubs are resolved
+        var preparedTracks = prepareTracks(List.of(searchResult.track()));
+        try (var unitOfWork = UnitOfWork.begin()) {
+            var storedTrack = storeTracks(preparedTracks).allTracks().getFirst();
+            searchResultCache.recordMatch(name, artist, storedTrack.getId());
 
-            if (!tracks.isEmpty()) {
-                LOGGER.debug("Returning cached track by name and artist");
-                return Optional.of(tracks.getFirst());
-            }
+            unitOfWork.markSuccessful();
+            return Optional.of(storedTrack);
         }
-
-        // Fetch from API, resolve stubs, and store
-        return tidalMusicFetcher.fetchTrack(name, artist)
-                .map(this::storeTrack);
     }
 
     @Override
     public Optional<Track> getTrackById(String id) {
-        try (var entityTransaction = EntityTransaction.beginTransaction()) {
+        var cachedTrack = trackCache.get(id);
+        if (cachedTrack.isPresent()) {
+            LOGGER.debug("Returning in-memory track by ID");
+            return cachedTrack.map(Track.class::cast);
+        }
+
+        return trackFlights.run(id, () -> loadTrackById(id));
+    }
+
+    private Optional<Track> loadTrackById(String id) {
+        try (var entityTransaction = EntityTransaction.beginReadOnly()) {
             var session = entityTransaction.getSession();
 
-            var trackOptional = Optional.<Track>ofNullable(session.find(TidalTrack.class, id));
-            if (trackOptional.isPresent()) {
+            var track = session.find(TidalTrack.class, id);
+            if (track != null) {
                 LOGGER.debug("Returning cached track by ID");
-                return trackOptional;
+                trackCache.put(id, track);
+                return Optional.of(track);
             }
         }
 
@@ -112,57 +222,336 @@ public class TidalMusicCache implements MusicCache {
 
     @Override
     public List<Track> getTracks(List<MusicFetcher.TrackNameArtist> list) {
-        // Not yet supported - throws exception like fetcher does
-        return tidalMusicFetcher.fetchTracks(list);
+        return resolveTracks(list).stream()
+                .flatMap(Optional::stream)
+                .toList();
+    }
+
+    /**
+     * Resolves many tracks by name and artist in bulk. All searches are first looked up in the database by track name
+     * and search alias, then in the cached search outcomes, and only what remains is searched for through the API,
+     * concurrently. Everything found is stored in a single batch.
+     *
+     * @param searches The names and artists of the tracks to resolve
+     * @return The track each search resolved to, or empty if it had none, in the same order as the given searches
+     */
+    public List<Optional<Track>> resolveTracks(List<MusicFetcher.TrackNameArtist> searches) {
+        var cacheAliases = tidalMusicFetcher.shouldCacheAliases();
+        var resolved = new HashMap<MusicFetcher.TrackNameArtist, Track>();
+
+        try (var entityTransaction = EntityTransaction.beginReadOnly()) {
+            resolved.putAll(EntityQueries.findTracksByNameAndArtist(entityTransaction.getSession(), searches, cacheAliases));
+        }
+
+        var unresolved = new LinkedHashSet<>(searches);
+        unresolved.removeAll(resolved.keySet());
+
+        LOGGER.debug("Found {} of {} unique searches in DB", resolved.size(), resolved.size() + unresolved.size());
+
+        // Searches already being resolved by another caller are waited for rather than repeated
+        if (!unresolved.isEmpty()) {
+            trackSearchFlights.runAll(unresolved, pending -> resolveUncachedTracks(pending, cacheAliases))
+                    .forEach((search, track) -> track.ifPresent(foundTrack -> resolved.put(search, foundTrack)));
+        }
+
+        return searches.stream()
+                .map(search -> Optional.ofNullable(resolved.get(search)))
+                .toList();
+    }
+
+    /**
+     * Resolves tracks that weren't found in the database, first from the cached outcomes of identical earlier searches,
+     * and then by searching for the rest through the API.
+     *
+     * @param searches     The unique names and artists to resolve
+     * @param cacheAliases If search outcomes should be looked up and recorded
+     * @return The outcome of every given search
+     */
+    private Map<MusicFetcher.TrackNameArtist, Optional<Track>> resolveUncachedTracks(List<MusicFetcher.TrackNameArtist> searches, boolean cacheAliases) {
+        var resolved = new HashMap<MusicFetcher.TrackNameArtist, Track>();
+        var unresolved = new LinkedHashSet<>(searches);
+
+        // Reuse the outcomes of identical earlier searches, whether they matched or not
+        if (cacheAliases) {
+            var cachedTrackIds = new HashMap<MusicFetcher.TrackNameArtist, String>();
+            searchResultCache.lookupAll(unresolved).forEach((search, cachedSearch) -> {
+                unresolved.remove(search);
+                cachedSearch.trackId().ifPresent(trackId -> cachedTrackIds.put(search, trackId));
+            });
+
+            if (!cachedTrackIds.isEmpty()) {
+                var tracksById = new HashMap<String, Track>();
+                for (var track : getTracksById(List.copyOf(new LinkedHashSet<>(cachedTrackIds.values())))) {
+                    tracksById.put(track.getId(), track);
+                }
+
+                cachedTrackIds.forEach((search, trackId) -> {
+                    var track = tracksById.get(trackId);
+                    if (track != null) {
+                        resolved.put(search, track);
+                    }
+                });
+            }
+        }
+
+        if (!unresolved.isEmpty()) {
+            LOGGER.debug("Searching for {} tracks", unresolved.size());
+            resolved.putAll(searchAndStoreTracks(List.copyOf(unresolved), cacheAliases));
+        }
+
+        var outcomes = new HashMap<MusicFetcher.TrackNameArtist, Optional<Track>>();
+        for (var search : searches) {
+            outcomes.put(search, Optional.ofNullable(resolved.get(search)));
+        }
+
+        return outcomes;
+    }
+
+    /**
+     * Searches for tracks through the API concurrently, stores everything found in one batch, and remembers the outcome
+     * of every search that didn't fail.
+     *
+     * @param searches       The unique names and artists to search for
+     * @param recordOutcomes If the outcomes should be stored in the {@link SearchResultCache}
+     * @return The stored track of each search that matched one
+     */
+    private Map<MusicFetcher.TrackNameArtist, Track> searchAndStoreTracks(List<MusicFetcher.TrackNameArtist> searches, boolean recordOutcomes) {
+        var searchResults = tidalMusicFetcher.searchTracks(searches);
+
+        var outcomes = new HashMap<MusicFetcher.TrackNameArtist, Optional<String>>();
+        var matchedTracks = new ArrayList<Track>();
+        for (int i = 0; i < searches.size(); i++) {
+            var searchResult = searchResults.get(i);
+            if (searchResult.failed()) {
+                continue;
+            }
+
+            if (searchResult.track() == null) {
+                outcomes.put(searches.get(i), Optional.empty());
+            } else {
+                matchedTracks.add(searchResult.track());
+            }
+        }
+
+        // Store the tracks and the search outcomes in one transaction, only begun once their stubs are resolved
+        var preparedTracks = prepareTracks(matchedTracks);
+        try (var unitOfWork = UnitOfWork.begin()) {
+            // Stubs that can't be resolved are skipped when storing, so stored tracks are matched back by ID
+            var storedTracks = new HashMap<String, Track>();
+            for (var track : storeTracks(preparedTracks).allTracks()) {
+                storedTracks.put(track.getId(), track);
+            }
+
+            var found = new HashMap<MusicFetcher.TrackNameArtist, Track>();
+            for (int i = 0; i < searches.size(); i++) {
+                var track = searchResults.get(i).track();
+                if (track == null) {
+                    continue;
+                }
+
+                var storedTrack = storedTracks.get(track.getId());
+                if (storedTrack != null) {
+                    found.put(searches.get(i), storedTrack);
+                    outcomes.put(searches.get(i), Optional.of(storedTrack.getId()));
+                }
+            }
+
+            if (recordOutcomes) {
+                searchResultCache.recordAll(outcomes);
+            }
+
+            unitOfWork.markSuccessful();
+            return found;
+        }
+    }
+
+    /**
+     * Resolves many tracks by their ISRCs in bulk. All ISRCs are first looked up in the database, and only those not
+     * found are fetched through the API, in batches. Everything fetched is stored in a single batch. ISRCs are matched
+     * regardless of case, with {@link TidalTrack#normalizeIsrc(String)}.
+     *
+     * @param isrcs The ISRCs of the tracks to resolve
+     * @return The track each ISRC resolved to, or empty if it had none, in the same order as the given ISRCs
+     */
+    public List<Optional<Track>> resolveTracksByIsrc(List<String> isrcs) {
+        var normalizedIsrcs = isrcs.stream()
+                .map(TidalTrack::normalizeIsrc)
+                .toList();
+
+        var resolved = new HashMap<String, Track>();
+
+        try (var entityTransaction = EntityTransaction.beginReadOnly()) {
+            resolved.putAll(EntityQueries.findTracksByIsrc(entityTransaction.getSession(), isrcs));
+        }
+
+        var unresolved = new LinkedHashSet<String>();
+        for (var isrc : normalizedIsrcs) {
+            if (isrc != null && !resolved.containsKey(isrc)) {
+                unresolved.add(isrc);
+            }
+        }
+
+        LOGGER.debug("Found {} of {} unique ISRCs in DB", resolved.size(), resolved.size() + unresolved.size());
+
+        // ISRCs already being fetched by another caller are waited for rather than fetched again
+        if (!unresolved.isEmpty()) {
+            trackIsrcFlights.runAll(unresolved, this::fetchAndStoreTracksByIsrc)
+                    .forEach((isrc, track) -> track.ifPresent(foundTrack -> resolved.put(isrc, foundTrack)));
+        }
+
+        return normalizedIsrcs.stream()
+                .map(isrc -> Optional.ofNullable(isrc != null ? resolved.get(isrc) : null))
+                .toList();
+    }
+
+    /**
+     * Fetches tracks by their ISRCs from the API and stores them. If an ISRC matches several tracks, the one with the
+     * lowest ID is picked, as when it's found in the database.
+     *
+     * @param isrcs The unique, normalized ISRCs of the tracks to fetch
+     * @return The stored track of every given ISRC, or empty if none was found
+     */
+    private Map<String, Optional<Track>> fetchAndStoreTracksByIsrc(List<String> isrcs) {
+        var fetchedTrackIds = new HashMap<String, String>();
+        var fetchedTracks = tidalMusicFetcher.fetchTracksByIsrc(isrcs);
+        for (var track : fetchedTracks) {
+            if (track instanceof TidalTrack tidalTrack && tidalTrack.getIsrc() != null) {
+                fetchedTrackIds.merge(tidalTrack.getIsrc(), tidalTrack.getId(), (first, second) -> first.compareTo(second) <= 0 ? first : second);
+            }
+        }
+
+        var storedTracks = new HashMap<String, Track>();
+        for (var track : storeTracks(fetchedTracks).allTracks()) {
+            storedTracks.put(track.getId(), track);
+        }
+
+        var tracks = new HashMap<String, Optional<Track>>();
+        for (var isrc : isrcs) {
+            var trackId = fetchedTrackIds.get(isrc);
+            tracks.put(isrc, Optional.ofNullable(trackId != null ? storedTracks.get(trackId) : null));
+        }
+
+        return tracks;
     }
 
     @Override
     public List<Track> getTracksById(List<String> trackIds) {
-        var lookupTracks = new HashMap<Integer, String>();
-        var foundTracks = new ArrayList<Track>(Collections.nCopies(trackIds.size(), null));
+        var foundTracks = findTracksById(trackIds);
+
+        // Place tracks back in their requested positions, skipping any that weren't found
+        var tracks = new ArrayList<Track>(trackIds.size());
+        for (var id : trackIds) {
+            var track = foundTracks.get(id);
+            if (track != null) {
+                tracks.add(track);
+            }
+        }
 
-        try (var entityTransaction = EntityTransaction.beginTransaction()) {
-            var session = entityTransaction.getSession();
+        return tracks;
+    }
+
+    /**
+     * Finds tracks by their IDs, in memory, then in the database, and then from the API.
+     *
+     * @param trackIds The IDs of the tracks to find, which may contain duplicates
+     * @return The tracks that were found, keyed by ID
+     */
+    private Map<String, Track> findTracksById(Collection<String> trackIds) {
+        var lookup = lookupTracksById(trackIds);
+        var foundTracks = new HashMap<String, Track>(lookup.found());
+
+        LOGGER.debug("Found {} tracks in memory or DB, fetching {} missing tracks", foundTracks.size(), lookup.missing().size());
+
+        // Fetch and store missing tracks with full stub resolution, waiting for any already being fetched by another caller
+        if (!lookup.missing().isEmpty()) {
+            trackFlights.runAll(lookup.missing(), this::fetchAndStoreTracks)
+                    .forEach((id, track) -> track.ifPresent(fetchedTrack -> foundTracks.put(id, fetchedTrack)));
+        }
 
-            // Check which tracks are in DB
-            for (int i = 0; i < trackIds.size(); i++) {
-                var id = trackIds.get(i);
-                var found = session.find(TidalTrack.class, id);
-                if (found != null) {
-                    LOGGER.debug("Found track at index {}", i);
-                    foundTracks.set(i, found);
+        return foundTracks;
+    }
+
+    /**
+     * Creates a list of tracks that are only loaded, a page at a time, when they are read. Tracks are found by their
+     * IDs, and fetched and stored if they aren't stored yet.
+     *
+     * @param trackIds The IDs of the tracks, in order
+     * @return The lazily loaded tracks
+     */
+    private List<Track> createLazyTrackList(List<String> trackIds) {
+        return createLazyTrackList(trackIds, Map.of());
+    }
+
+    /**
+     * Creates a list of tracks that are only loaded, a page at a time, when they are read. Tracks that have been
+     * fetched but may not be stored yet, such as an album's tracks with stub artists, are resolved and stored with
+     * {@link #storeTracks(List)} when their page is loaded. Any other track is found by its ID.
+     *
+     * @param trackIds       The IDs of the tracks, in order
+     * @param unstoredTracks Fetched tracks that may not be stored yet, keyed by ID
+     * @return The lazily loaded tracks
+     */
+    private List<Track> createLazyTrackList(List<String> trackIds, Map<String, Track> unstoredTracks) {
+        var pendingTracks = new ConcurrentHashMap<>(unstoredTracks);
+
+        return new LazyTrackList(trackIds, LazyTrackList.DEFAULT_PAGE_SIZE, pageIds -> {
+            var storingTracks = new ArrayList<Track>();
+            var findingIds = new ArrayList<String>();
+
+            for (var id : new LinkedHashSet<>(pageIds)) {
+                var pendingTrack = pendingTracks.get(id);
+                if (pendingTrack != null) {
+                    storingTracks.add(pendingTrack);
                 } else {
-                    LOGGER.debug("Looking up track at index {}", i);
-                    lookupTracks.put(i, id);
+                    findingIds.add(id);
                 }
             }
-        }
 
-        LOGGER.debug("Found {} tracks in DB, fetching {} missing tracks",
-                foundTracks.stream().filter(Objects::nonNull).count(), lookupTracks.size());
+            var tracks = new HashMap<String, Track>();
+            if (!storingTracks.isEmpty()) {
+                for (var storedTrack : storeTracks(storingTracks).allTracks()) {
+                    tracks.put(storedTrack.getId(), storedTrack);
+                }
+
+                // Only forgotten once stored, so if storing fails, they're stored again when the page is next loaded
+                storingTracks.forEach(track -> pendingTracks.remove(track.getId()));
+            }
 
-        // Fetch and store missing tracks with full stub resolution
-        if (!lookupTracks.isEmpty()) {
-            var fetched = storeTracks(tidalMusicFetcher.fetchTracksById(new ArrayList<>(lookupTracks.values()))).allTracks();
-            for (var entry : lookupTracks.entrySet()) {
-                var index = entry.getKey();
-                var id = entry.getValue();
-                fetched.stream()
-                        .filter(track -> track.getId().equals(id))
-                        .findFirst()
-                        .ifPresent(track -> foundTracks.set(index, track));
+            if (!findingIds.isEmpty()) {
+                tracks.putAll(findTracksById(findingIds));
             }
+
+            return tracks;
+        }, readAheadExecutor);
+    }
+
+    /**
+     * Fetches tracks by their IDs from the API and stores them.
+     *
+     * @param trackIds The unique IDs of the tracks to fetch
+     * @return The stored track of every given ID, or empty if it couldn't be fetched
+     */
+    private Map<String, Optional<Track>> fetchAndStoreTracks(List<String> trackIds) {
+        var fetchedTracks = new HashMap<String, Track>();
+        for (var track : storeTracks(tidalMusicFetcher.fetchTracksById(trackIds)).allTracks()) {
+            fetchedTracks.put(track.getId(), track);
         }
 
-        // Remove nulls (in case some tracks weren't found)
-        foundTracks.removeIf(Objects::isNull);
+        var tracks = new HashMap<String, Optional<Track>>();
+        for (var id : trackIds) {
+            tracks.put(id, Optional.ofNullable(fetchedTracks.get(id)));
+        }
 
-        return foundTracks;
+        return tracks;
     }
 
     @Override
     public Optional<Playlist> getPlaylist(String name, String author) {
-        try (var entityTransaction = EntityTransaction.beginTransaction()) {
+        return playlistSearchFlights.run(new NameLookup(name, author), () -> loadPlaylist(name, author));
+    }
+
+    private Optional<Playlist> loadPlaylist(String name, String author) {
+        try (var entityTransaction = EntityTransaction.beginReadOnly()) {
             var session = entityTransaction.getSession();
 
             var builder = session.getCriteriaBuilder();
@@ -192,13 +581,24 @@ public class TidalMusicCache implements MusicCache {
 
     @Override
     public Optional<Playlist> getPlaylistById(String id) {
-        try (var entityTransaction = EntityTransaction.beginTransaction()) {
+        var cachedPlaylist = playlistCache.get(id);
+        if (cachedPlaylist.isPresent()) {
+            LOGGER.debug("Returning in-memory playlist by id");
+            return cachedPlaylist.map(Playlist.class::cast);
+        }
+
+        return playlistFlights.run(id, () -> loadPlaylistById(id));
+    }
+
+    private Optional<Playlist> loadPlaylistById(String id) {
+        try (var entityTransaction = EntityTransaction.beginReadOnly()) {
             var session = entityTransaction.getSession();
 
-            var playlistOptional = Optional.<Playlist>ofNullable(session.find(TidalPlaylist.class, id));
-            if (playlistOptional.isPresent()) {
+            var playlist = session.find(TidalPlaylist.class, id);
+            if (playlist != null) {
                 LOGGER.debug("Returning cached playlist by id");
-                return playlistOptional;
+                playlistCache.put(id, playlist);
+                return Optional.of(playlist);
             }
         }
 
@@ -210,7 +610,11 @@ public class TidalMusicCache implements MusicCache {
 
     @Override
     public Optional<Album> getAlbum(String name, String artist) {
-        try (var entityTransaction = EntityTransaction.beginTransaction()) {
+        return albumSearchFlights.run(new NameLookup(name, artist), () -> loadAlbum(name, artist));
+    }
+
+    private Optional<Album> loadAlbum(String name, String artist) {
+        try (var entityTransaction = EntityTransaction.beginReadOnly()) {
             var session = entityTransaction.getSession();
 
             var builder = session.getCriteriaBuilder();
@@ -240,13 +644,24 @@ public class TidalMusicCache implements MusicCache {
 
     @Override
     public Optional<Album> getAlbumById(String id) {
-        try (var entityTransaction = EntityTransaction.beginTransaction()) {
+        var cachedAlbum = albumCache.get(id);
+        if (cachedAlbum.isPresent()) {
+            LOGGER.debug("Returning in-memory album by id");
+            return cachedAlbum.map(Album.class::cast);
+        }
+
+        return albumFlights.run(id, () -> loadAlbumById(id));
+    }
+
+    private Optional<Album> loadAlbumById(String id) {
+        try (var entityTransaction = EntityTransaction.beginReadOnly()) {
             var session = entityTransaction.getSession();
 
-            var albumOptional = Optional.<Album>ofNullable(session.find(TidalAlbum.class, id));
-            if (albumOptional.isPresent()) {
+            var album = session.find(TidalAlbum.class, id);
+            if (album != null) {
                 LOGGER.debug("Returning cached album by id");
-                return albumOptional;
+                albumCache.put(id, album);
+                return Optional.of(album);
             }
         }
 
@@ -258,84 +673,175 @@ public class TidalMusicCache implements MusicCache {
 
     @Override
     public List<Track> getAlbumTracks(Album album) {
-        var tidalAlbum = (TidalAlbum) album;
-        var albumTracks = tidalAlbum.getTracks();
-
-        // Check if tracks are already populated
-        if (albumTracks != null && !albumTracks.isEmpty()) {
-            LOGGER.debug("Album {} tracks already cached", album.getId());
-            return albumTracks.stream().map(Track.class::cast).toList();
+        // The track IDs are read from the database rather than the given album, which may be detached and out of date
+        try (var entityTransaction = EntityTransaction.beginReadOnly()) {
+            var albumTrackIds = EntityQueries.findAlbumTrackIds(entityTransaction.getSession(), album.getId());
+
+            // Check if tracks are already populated
+            if (!albumTrackIds.isEmpty()) {
+                LOGGER.debug("Album {} tracks already cached", album.getId());
+                return createLazyTrackList(albumTrackIds);
+            }
         }
 
-        LOGGER.debug("Fetching and caching tracks for album {}", album.getId());
+        return albumTrackFlights.run(album.getId(), () -> loadAlbumTracks((TidalAlbum) album));
+    }
 
-        // Fetch from API - these will have stub artists
-        var tracks = tidalMusicFetcher.fetchAlbumTracks(album);
+    private List<Track> loadAlbumTracks(TidalAlbum album) {
+        LOGGER.debug("Fetching and caching tracks for album {}", album.getId());
 
-        // Resolve all stubs and store tracks
-        var storedTracks = storeTracks(tracks);
-        var allTracks = storedTracks.allTracks();
+        // Only the album's track IDs are stored here. The fetched tracks have stub artists, and are resolved and stored
+        // a page at a time as the returned list is read
+        var trackPages = tidalMusicFetcher.fetchAlbumTrackPages(album);
+        var trackIds = new ArrayList<String>();
+        var fetchedTracks = new HashMap<String, Track>();
 
-        // Update album entity with tracks
-        tidalAlbum.setTracks(allTracks.stream().map(TidalTrack.class::cast).toList());
+        while (trackPages.hasNext()) {
+            for (var track : trackPages.next()) {
+                trackIds.add(track.getId());
+                fetchedTracks.putIfAbsent(track.getId(), track);
+            }
+        }
 
+        // Only the track IDs are written, so nothing else about the album is overwritten with what was loaded
         try (var entityTransaction = EntityTransaction.beginTransaction()) {
-            var session = entityTransaction.getSession();
-            session.update(tidalAlbum);
+            EntityQueries.updateAlbumTrackIds(entityTransaction.getSession(), album.getId(), trackIds);
+            entityTransaction.markSuccessful();
         }
 
-        return allTracks;
+        // The given album may be the cached one, so it's left as it is and looked up again next time
+        albumCache.invalidate(album.getId());
+
+        return createLazyTrackList(trackIds, fetchedTracks);
     }
 
     @Override
     public List<Track> getPlaylistTracks(Playlist playlist) {
         var tidalPlaylist = (TidalPlaylist) playlist;
-        var playlistIndex = tidalPlaylist.getTidalPlaylistIndex();
 
-        // Check if index is expired (7 days)
-        var expires = Instant.ofEpochMilli(playlistIndex.getLastUpdatedIndex().getTime())
-                .plus(7, ChronoUnit.DAYS);
+        // The index is read from the database rather than the given playlist, which may be detached and out of date
+        TidalPlaylistIndex playlistIndex;
+        try (var entityTransaction = EntityTransaction.beginReadOnly()) {
+            playlistIndex = EntityQueries.findPlaylistIndex(entityTransaction.getSession(), playlist.getId())
+                    .orElseGet(tidalPlaylist::getTidalPlaylistIndex);
+        }
 
-        LOGGER.debug("Playlist {} index last updated: {}, expires: {}",
-                playlist.getId(), playlistIndex.getLastUpdatedIndex(), expires);
+        playlistIndexRefresher.watch(playlist.getId(), playlistIndex);
 
-        if (Instant.now().isAfter(expires) || playlistIndex.getTracks().isEmpty()) {
-            LOGGER.debug("Playlist {} index expired or empty, fetching fresh tracks", playlist.getId());
+        if (playlistIndex.getTrackIds().isEmpty()) {
+            LOGGER.debug("Playlist {} index empty, fetching tracks", playlist.getId());
+            return playlistTrackFlights.run(playlist.getId(), () -> refreshPlaylistTracks(tidalPlaylist, playlistIndex));
+        }
 
-            // Fetch track stubs
-            var tracks = tidalMusicFetcher.fetchPlaylistTracks(playlist);
+        // Serve an expired index as it is, rather than waiting on every track to be refetched
+        if (playlistIndexRefresher.isExpired(playlist.getId(), playlistIndex)) {
+            LOGGER.debug("Playlist {} index expired at {}, refreshing in the background",
+                    playlist.getId(), playlistIndexRefresher.getExpiry(playlist.getId(), playlistIndex));
+            playlistIndexRefresher.refreshInBackground(playlist.getId());
+        }
 
-            // Resolve all stubs recursively and store
-            var storedTracks = storeTracks(tracks);
-            var allTracks = storedTracks.allTracks();
+        LOGGER.debug("Returning cached tracks for playlist {}", playlist.getId());
+        return createLazyTrackList(playlistIndex.getTrackIds());
+    }
 
-            // Update playlist index
-            tidalPlaylist.setTidalPlaylistIndex(new TidalPlaylistIndex(
-                    allTracks.stream().map(TidalTrack.class::cast).toList(),
-                    new Date(System.currentTimeMillis())
-            ));
+    /**
+     * Refreshes the index of a playlist that is already stored, reloading it so that the refresh starts from its latest
+     * index rather than one that may have been replaced since the playlist was read.
+     *
+     * @param playlistId The ID of the playlist
+     * @return The playlist's tracks, or an empty list if it is no longer stored
+     */
+    private List<Track> refreshPlaylistTracks(String playlistId) {
+        TidalPlaylist playlist;
+        try (var entityTransaction = EntityTransaction.beginReadOnly()) {
+            playlist = entityTransaction.getSession().find(TidalPlaylist.class, playlistId);
+        }
 
-            try (var entityTransaction = EntityTransaction.beginTransaction()) {
-                var session = entityTransaction.getSession();
-                session.update(tidalPlaylist);
+        if (playlist == null) {
+            LOGGER.debug("Playlist {} is no longer stored, not refreshing its index", playlistId);
+            return List.of();
+        }
+
+        return refreshPlaylistTracks(playlist, playlist.getTidalPlaylistIndex());
+    }
+
+    private List<Track> refreshPlaylistTracks(TidalPlaylist playlist, TidalPlaylistIndex previousIndex) {
+        // The items are only stubs, so tracks are found by their IDs, a page at a time, as the returned list is read.
+        // Tracks added since the index was last updated are resolved and stored now though, so any that can't be are
+        // left out of the index. A new index is left to load entirely as it's read, rather than resolving all of it.
+        var previousTrackIds = new HashSet<>(previousIndex.getTrackIds());
+        var resolveAddedTracks = !previousTrackIds.isEmpty();
+
+        // Fetch track stubs a page at a time, resolving each page's added tracks while the next one is fetched
+        var trackPages = tidalMusicFetcher.fetchPlaylistTrackPages(playlist);
+        var trackIds = new ArrayList<String>();
+        var unresolvedTrackIds = new HashSet<String>();
+
+        while (trackPages.hasNext()) {
+            var addedTracks = new ArrayList<Track>();
+            for (var track : trackPages.next()) {
+                trackIds.add(track.getId());
+
+                if (resolveAddedTracks && !previousTrackIds.contains(track.getId())) {
+                    addedTracks.add(track);
+                }
             }
 
-            return allTracks;
+            if (!addedTracks.isEmpty()) {
+                var storedTrackIds = new HashSet<String>();
+                for (var storedTrack : storeTracks(addedTracks).allTracks()) {
+                    storedTrackIds.add(storedTrack.getId());
+                }
+
+                for (var addedTrack : addedTracks) {
+                    if (!storedTrackIds.contains(addedTrack.getId())) {
+                        unresolvedTrackIds.add(addedTrack.getId());
+                    }
+                }
+            }
         }
 
-        LOGGER.debug("Returning cached tracks for playlist {}", playlist.getId());
-        return playlistIndex.getTracks().stream().map(Track.class::cast).toList();
+        if (!unresolvedTrackIds.isEmpty()) {
+            LOGGER.debug("Leaving {} added tracks that could not be resolved out of playlist {}", unresolvedTrackIds.size(), playlist.getId());
+            trackIds.removeIf(unresolvedTrackIds::contains);
+        }
+
+        LOGGER.debug("Playlist {} index now has {} tracks", playlist.getId(), trackIds.size());
+
+        var playlistIndex = new TidalPlaylistIndex(trackIds, Timestamp.from(Instant.now()));
+
+        // Only the index columns are written, so changes made to the playlist since it was loaded aren't overwritten
+        try (var entityTransaction = EntityTransaction.beginTransaction()) {
+            EntityQueries.updatePlaylistIndex(entityTransaction.getSession(), playlist.getId(), playlistIndex);
+            entityTransaction.markSuccessful();
+        }
+
+        // The given playlist may be the cached one, so it's left as it is and looked up again next time
+        playlistCache.invalidate(playlist.getId());
+
+        return createLazyTrackList(trackIds);
     }
 
     @Override
     public Optional<Artist> getArtistById(String id) {
-        try (var entityTransaction = EntityTransaction.beginTransaction()) {
+        var cachedArtist = artistCache.get(id);
+        if (cachedArtist.isPresent()) {
+            LOGGER.debug("Returning in-memory artist by id");
+            return cachedArtist.map(Artist.class::cast);
+        }
+
+        return artistFlights.run(id, () -> loadArtistById(id));
+    }
+
+    private Optional<Artist> loadArtistById(String id) {
+        try (var entityTransaction = EntityTransaction.beginReadOnly()) {
             var session = entityTransaction.getSession();
 
-            var artistOptional = Optional.<Artist>ofNullable(session.find(TidalArtist.class, id));
-            if (artistOptional.isPresent()) {
+            var artist = session.find(TidalArtist.class, id);
+            if (artist != null) {
                 LOGGER.debug("Returning cached artist by id");
-                return artistOptional;
+                artistCache.put(id, artist);
+                return Optional.of(artist);
             }
         }
 
@@ -347,7 +853,11 @@ public class TidalMusicCache implements MusicCache {
 
     @Override
     public Optional<Artist> getArtistByName(String name) {
-        try (var entityTransaction = EntityTransaction.beginTransaction()) {
+        return artistSearchFlights.run(name, () -> loadArtistByName(name));
+    }
+
+    private Optional<Artist> loadArtistByName(String name) {
+        try (var entityTransaction = EntityTransaction.beginReadOnly()) {
             var session = entityTransaction.getSession();
 
             var builder = session.getCriteriaBuilder();
@@ -362,6 +872,16 @@ public class TidalMusicCache implements MusicCache {
                 LOGGER.debug("Returning cached artist by name");
                 return Optional.of(artists.getFirst());
             }
+
+            // Artist searches ignore case, so a stored artist differing only in case is the one the API would find
+            criteria.where(builder.equal(builder.lower(root.get("name")), name.toLowerCase(Locale.ROOT)));
+
+            artists = session.createQuery(criteria).getResultList();
+
+            if (!artists.isEmpty()) {
+                LOGGER.debug("Returning cached artist by case-insensitive name");
+                return Optional.of(artists.getFirst());
+            }
         }
 
         // Fetch from API and store (artists have no dependencies)
@@ -372,47 +892,69 @@ public class TidalMusicCache implements MusicCache {
 
 
     /**
-     * Creates a {@link CriteriaQuery} with a given type that has an {@code id} property, that fetches all entities
-     * with an ID in the given list.
+     * Looks up tracks by their IDs in memory, and then in the database with a single bulk query.
      *
-     * @return The criteria, which searches all IDs in the list
-     * @param <T> The type of entity to search for
+     * @param trackIds The IDs of the tracks to look up, which may contain duplicates
+     * @return The tracks that were found, and the IDs of those that weren't
      */
-    private <T> CriteriaQuery<T> createBulkIdCriteria(Session session, Class<T> type, List<String> ids) {
-        var builder = session.getCriteriaBuilder();
-        var criteria = builder.createQuery(type);
-        var root = criteria.from(type);
+    private TrackLookup lookupTracksById(Collection<String> trackIds) {
+        var found = new HashMap<String, TidalTrack>(trackCache.getAll(trackIds));
 
-        var predicates = ids.stream()
-                .map(id -> builder.equal(root.get("id"), id))
-                .toArray(Predicate[]::new);
+        var uncachedIds = new LinkedHashSet<String>();
+        for (var id : trackIds) {
+            if (!found.containsKey(id)) {
+                uncachedIds.add(id);
+            }
+        }
 
-        criteria.where(builder.or(predicates));
+        if (!uncachedIds.isEmpty()) {
+            try (var entityTransaction = EntityTransaction.beginReadOnly()) {
+                var session = entityTransaction.getSession();
 
-        return criteria;
+                for (var track : EntityQueries.findAllById(session, TidalTrack.class, uncachedIds)) {
+                    found.put(track.getId(), track);
+                    trackCache.put(track.getId(), track);
+                }
+            }
+        }
+
+        uncachedIds.removeAll(found.keySet());
+
+        return new TrackLookup(found, uncachedIds);
     }
 
     /**
      * Resolve track stubs by fetching them from the API.
-     * Returns a list of full TidalTrack objects (though they may still have stub references inside).
+     * Returns a list of full TidalTrack objects (though they may still have stub references inside), in the same order
+     * as the given tracks. Stubs that could not be fetched are skipped.
+     *
+     * @param tracks The tracks to resolve, which should not contain duplicate IDs
+     * @return The resolved tracks, in the given order
      */
     private List<TidalTrack> resolveTrackStubs(List<Track> tracks) {
-        // TODO: Preserve order
-        var fullTracks = new ArrayList<TidalTrack>();
-        var stubIds = new ArrayList<String>();
+        var stubIds = tracks.stream()
+                .filter(TidalTrackStub.class::isInstance)
+                .map(Track::getId)
+                .toList();
 
-        for (var track : tracks) {
-            if (track instanceof TidalTrackStub) {
-                stubIds.add(track.getId());
-            } else {
-                fullTracks.add((TidalTrack) track);
+        var fetchedTracks = new HashMap<String, TidalTrack>();
+        if (!stubIds.isEmpty()) {
+            LOGGER.debug("Batch fetching {} track stubs", stubIds.size());
+            for (var track : tidalMusicFetcher.fetchTracksById(stubIds)) {
+                fetchedTracks.put(track.getId(), (TidalTrack) track);
             }
         }
 
-        if (!stubIds.isEmpty()) {
-            LOGGER.debug("Batch fetching {} track stubs", stubIds.size());
-            var fetched = tidalMusicFetcher.fetchTracksById(stubIds);
-            for (var track : fetched) {
+        var fullTracks = new ArrayList<TidalTrack>(tracks.size());
+        for (var track : tracks) {
+            if (track instanceof TidalTrackStub) {
+                var fetched = fetchedTracks.get(track.getId());
+                if (fetched != null) {
+                    fullTracks.add(fetched);
+                } else {
+                    LOGGER.warn("Unable to resolve track stub {}", track.getId());
+                }
+            } else {
                 fullTracks.add((TidalTrack) track);
             }
         }
@@ -492,6 +1034,7 @@ public class TidalMusicCache implements MusicCache {
                                 .toList(),
                         resolvedAlbumMap.get(track.getAlbum().getId()),
                         track.getDuration(),
+                        track.getIsrc(),
                         track.getSearchAliases()
                 ))
                 .toList();
@@ -511,15 +1054,13 @@ public class TidalMusicCache implements MusicCache {
             return artistMap;
         }
 
-        var missingIds = new ArrayList<>(artistIds);
+        var missingIds = new LinkedHashSet<>(artistIds);
 
-        // Bulk query to find existing artists using JPA Criteria API with OR predicates
-        try (var entityTransaction = EntityTransaction.beginTransaction()) {
+        // Bulk query to find existing artists
+        try (var entityTransaction = EntityTransaction.beginReadOnly()) {
             var session = entityTransaction.getSession();
 
-            var criteria = createBulkIdCriteria(session, TidalArtist.class, artistIds);
-
-            var foundArtists = session.createQuery(criteria).getResultList();
+            var foundArtists = EntityQueries.findAllById(session, TidalArtist.class, artistIds);
             for (var artist : foundArtists) {
                 artistMap.put(artist.getId(), artist);
                 missingIds.remove(artist.getId());
@@ -530,7 +1071,7 @@ public class TidalMusicCache implements MusicCache {
 
         // Bulk fetch missing artists from API
         if (!missingIds.isEmpty()) {
-            var fetchedArtists = tidalMusicFetcher.fetchArtistsByIds(missingIds);
+            var fetchedArtists = tidalMusicFetcher.fetchArtistsByIds(new ArrayList<>(missingIds));
             for (var artist : fetchedArtists) {
                 artistMap.put(artist.getId(), (TidalArtist) artist);
             }
@@ -554,15 +1095,13 @@ public class TidalMusicCache implements MusicCache {
             return albumMap;
         }
 
-        var missingIds = new ArrayList<>(albumIds);
+        var missingIds = new LinkedHashSet<>(albumIds);
 
-        // Bulk query to find existing albums using JPA Criteria API with OR predicates
-        try (var entityTransaction = EntityTransaction.beginTransaction()) {
+        // Bulk query to find existing albums
+        try (var entityTransaction = EntityTransaction.beginReadOnly()) {
             var session = entityTransaction.getSession();
 
-            var criteria = createBulkIdCriteria(session, TidalAlbum.class, albumIds);
-
-            var foundAlbums = session.createQuery(criteria).getResultList();
+            var foundAlbums = EntityQueries.findAllById(session, TidalAlbum.class, albumIds);
             for (var album : foundAlbums) {
                 albumMap.put(album.getId(), album);
                 missingIds.remove(album.getId());
@@ -576,7 +1115,7 @@ public class TidalMusicCache implements MusicCache {
         }
 
         // Bulk fetch all missing albums from API
-        var fetchedAlbums = tidalMusicFetcher.fetchAlbumsByIds(missingIds)
+        var fetchedAlbums = tidalMusicFetcher.fetchAlbumsByIds(new ArrayList<>(missingIds))
                 .stream()
                 .map(TidalAlbum.class::cast)
                 .toList();
@@ -615,237 +1154,213 @@ public class TidalMusicCache implements MusicCache {
     }
 
     /**
-     * Store artists in the database. Returns a map of artist ID to stored TidalArtist.
+     * Store an artist. An artist already stored, including by another thread at the same time, is kept as it is.
      *
-     * @param artists The artists to store
-     * @return The map of artist IDs and their entities that have been stored
+     * @param artist The artist to store
+     * @return The stored artist entity
      */
-    private Map<String, TidalArtist> storeArtists(List<TidalArtist> artists) {
-        var allArtists = new HashMap<String, TidalArtist>();
-
-        if (artists.isEmpty()) {
-            return allArtists;
-        }
-
+    private TidalArtist storeArtist(TidalArtist artist) {
+        TidalArtist storedArtist;
         try (var entityTransaction = EntityTransaction.beginTransaction()) {
             var session = entityTransaction.getSession();
 
-            // Extract all unique artist IDs
-            var artistIds = artists.stream()
-                    .map(TidalArtist::getId)
-                    .distinct()
-                    .toList();
-
-            // Bulk query to find existing artists using JPA Criteria API with OR predicates
-            var criteria = createBulkIdCriteria(session, TidalArtist.class, artistIds);
-
-            var existingArtists = session.createQuery(criteria).getResultList();
-
-            // Add existing artists to map
-            for (var existing : existingArtists) {
-                allArtists.put(existing.getId(), existing);
-            }
-
-            LOGGER.debug("Found {} artists in DB, storing {} new artists",
-                    existingArtists.size(), artists.size() - existingArtists.size());
+            LOGGER.debug("Storing artist: {}", artist.getId());
+            BulkTrackIngester.insertArtists(session, List.of(artist));
+            storedArtist = session.find(TidalArtist.class, artist.getId());
 
-            // Save only artists not found in DB
-            for (var artist : artists) {
-                if (!allArtists.containsKey(artist.getId())) {
-                    LOGGER.debug("Storing new artist: {}", artist.getId());
-                    session.save(artist);
-                    allArtists.put(artist.getId(), artist);
-                }
-            }
+            entityTransaction.markSuccessful();
         }
-        return allArtists;
+
+        artistCache.put(storedArtist.getId(), storedArtist);
+        return storedArtist;
     }
 
     /**
-     * Store albums in the database with fully resolved artist references.
-     * Returns a map of album ID to stored TidalAlbum.
+     * Store an album and its artists. An album or artist already stored, including by another thread at the same time,
+     * is kept as it is.
      *
-     * @param albums The albums to store
-     * @param artistMap A map of artist IDs and their entities to use to lookup
-     * @return The map of album IDs and their entities that have been stored
+     * @param album The album to store
+     * @return The stored album entity
      */
-    private Map<String, TidalAlbum> storeAlbums(List<TidalAlbum> albums, Map<String, TidalArtist> artistMap) {
-        var allAlbums = new HashMap<String, TidalAlbum>();
-
-        if (albums.isEmpty()) {
-            return allAlbums;
-        }
-
+    private TidalAlbum storeAlbum(TidalAlbum album) {
+        TidalAlbum storedAlbum;
         try (var entityTransaction = EntityTransaction.beginTransaction()) {
             var session = entityTransaction.getSession();
 
-            // Extract all unique album IDs
-            var albumIds = albums.stream()
-                    .map(TidalAlbum::getId)
-                    .distinct()
-                    .toList();
-
-            // Bulk query to find existing albums using JPA Criteria API with OR predicates
-            var criteria = createBulkIdCriteria(session, TidalAlbum.class, albumIds);
-
-            var existingAlbums = session.createQuery(criteria).getResultList();
-
-            // Add existing albums to map
-            for (var existing : existingAlbums) {
-                allAlbums.put(existing.getId(), existing);
-            }
-
-            LOGGER.debug("Found {} albums in DB, storing {} new albums",
-                    existingAlbums.size(), albums.size() - existingAlbums.size());
-
-            // Save only albums not found in DB
-            for (var album : albums) {
-                if (!allAlbums.containsKey(album.getId())) {
-                    // Ensure album uses artists from artistMap (from DB)
-                    var newAlbum = new TidalAlbum(
-                            album.getId(),
-                            album.getName(),
-                            album.getArtists().stream()
-                                    .map(Artist::getId)
-                                    .map(artistMap::get)
-                                    .toList()
-                    );
-                    LOGGER.debug("Storing new album: {}", newAlbum.getId());
-                    session.save(newAlbum);
-                    allAlbums.put(newAlbum.getId(), newAlbum);
-                }
-            }
+            LOGGER.debug("Storing album: {}", album.getId());
+            BulkTrackIngester.insertAlbums(session, List.of(album));
+            storedAlbum = session.find(TidalAlbum.class, album.getId());
+
+            entityTransaction.markSuccessful();
         }
-        return allAlbums;
+
+        albumCache.put(storedAlbum.getId(), storedAlbum);
+        return storedAlbum;
     }
 
     /**
      * Store tracks with full stub resolution.
-     * This method resolves ALL stubs recursively before storing.
+     * This method resolves ALL stubs recursively before storing. Each unique track is only looked up, resolved and
+     * stored once, and the result is expanded back to the order of the given tracks, including any duplicates.
      *
      * @param addingTracks The tracks to store
      * @return The tracks that have been stored in the database
      */
     private StoredTracks storeTracks(List<Track> addingTracks) {
-        LOGGER.debug("Storing {} tracks", addingTracks.size());
-
-        try (var entityTransaction = EntityTransaction.beginTransaction()) {
-            var session = entityTransaction.getSession();
+        return storeTracks(prepareTracks(addingTracks));
+    }
 
-            var trackIds = addingTracks.stream()
-                    .map(Track::getId)
-                    .distinct()
-                    .toList();
+    /**
+     * Prepares tracks to be stored by {@link #storeTracks(PreparedTracks)}, finding which are already stored, and
+     * resolving ALL stubs of the new ones recursively. This makes API requests, so it must be called before beginning a
+     * read-write transaction, rather than holding one open while waiting on them.
+     *
+     * @param addingTracks The tracks to store
+     * @return The prepared tracks
+     */
+    private PreparedTracks prepareTracks(List<Track> addingTracks) {
+        LOGGER.debug("Storing {} tracks", addingTracks.size());
 
-            var existingTracks = new HashMap<String, TidalTrack>();
+        // Deduplicate by ID, preferring a full track over a stub of the same ID
+        var uniqueTracks = new LinkedHashMap<String, Track>();
+        for (var addingTrack : addingTracks) {
+            uniqueTracks.merge(addingTrack.getId(), addingTrack, TidalMusicCache::mergeDuplicateTrack);
+        }
 
-            if (!trackIds.isEmpty()) {
-                var criteria = createBulkIdCriteria(session, TidalTrack.class, trackIds);
+        var storedTracks = new HashMap<String, TidalTrack>();
+        var newTracks = new ArrayList<Track>();
+        var newAliases = new HashMap<String, Set<TrackAlias>>();
+        var missingIsrcs = new HashMap<String, String>();
 
-                var foundTracks = session.createQuery(criteria).getResultList();
-                for (var track : foundTracks) {
-                    existingTracks.put(track.getId(), track);
-                }
+        // Search aliases are loaded lazily, so existing tracks are compared while their session is open
+        try (var entityTransaction = EntityTransaction.beginReadOnly()) {
+            for (var track : EntityQueries.findAllById(entityTransaction.getSession(), TidalTrack.class, uniqueTracks.keySet())) {
+                storedTracks.put(track.getId(), track);
             }
 
-            // Filter out tracks already in DB. If they are already in it, and have any new search aliases, add them to
-            // existing entity.
-            var newTracks = new ArrayList<Track>();
-            for (var addingTrack : addingTracks) {
-                var existingTrack = session.find(TidalTrack.class, addingTrack.getId());
+            // Filter out tracks already in DB. If they are already in it, collect any new search aliases and a missing
+            // ISRC to add to the existing row.
+            for (var addingTrack : uniqueTracks.values()) {
+                var existingTrack = storedTracks.get(addingTrack.getId());
 
                 if (existingTrack == null) {
                     newTracks.add(addingTrack);
                     continue;
                 }
 
-                existingTracks.put(existingTrack.getId(), existingTrack);
-
                 if (addingTrack instanceof TidalTrack tidalTrack) {
+                    // Tracks stored before ISRCs were kept get theirs when they're fetched again
+                    if (existingTrack.getIsrc() == null && tidalTrack.getIsrc() != null) {
+                        missingIsrcs.put(existingTrack.getId(), tidalTrack.getIsrc());
+                    }
+
                     for (var alias : tidalTrack.getSearchAliases()) {
                         if (!existingTrack.getSearchAliases().contains(alias)) {
-                            LOGGER.debug("Adding new alias {} to existing track {}", alias, existingTrack.getId());
-                            existingTrack.addSearchAlias(alias);
+                            newAliases.computeIfAbsent(existingTrack.getId(), id -> new LinkedHashSet<>()).add(alias);
                         }
                     }
                 }
             }
+        }
 
-            LOGGER.debug("Found {} tracks already in DB, storing {} new tracks",
-                    addingTracks.size() - newTracks.size(), newTracks.size());
+        LOGGER.debug("Found {} unique tracks already in DB, storing {} new tracks ({} total, {} unique)",
+                storedTracks.size(), newTracks.size(), addingTracks.size(), uniqueTracks.size());
 
-            // First resolve ALL stubs recursively (tracks, then nested artists/albums)
-            var resolvedNewTracks = resolveNestedStubs(resolveTrackStubs(addingTracks));
+        // Resolve ALL stubs recursively (tracks, then nested artists/albums)
+        var resolvedNewTracks = resolveNestedStubs(resolveTrackStubs(newTracks));
 
-            // Collect all distinct artists (from tracks and albums)
-            var distinctArtists = resolvedNewTracks.stream()
-                    .flatMap(track -> Stream.concat(
-                            track.getArtists().stream(),
-                            track.getAlbum().getArtists().stream()
-                    ))
-                    .distinct()
-                    .map(TidalArtist.class::cast)
-                    .toList();
+        return new PreparedTracks(addingTracks, storedTracks, resolvedNewTracks, newAliases, missingIsrcs);
+    }
 
-            var artistMap = storeArtists(distinctArtists);
+    /**
+     * Stores tracks prepared by {@link #prepareTracks(List)} in one transaction, or in the current thread's
+     * {@link UnitOfWork}. Rows are inserted unless they're already stored, so tracks, artists and albums stored by
+     * another thread since they were prepared are kept as they are, rather than conflicting.
+     *
+     * @param preparedTracks The prepared tracks
+     * @return The tracks that have been stored in the database
+     */
+    private StoredTracks storeTracks(PreparedTracks preparedTracks) {
+        var newTracks = preparedTracks.newTracks();
+        var newAliases = preparedTracks.newAliases();
+        var missingIsrcs = preparedTracks.missingIsrcs();
+
+        if (!newTracks.isEmpty() || !newAliases.isEmpty() || !missingIsrcs.isEmpty()) {
+            try (var unitOfWork = UnitOfWork.begin()) {
+                var session = unitOfWork.getSession();
+
+                // Large batches are copied in bulk, rather than bound to each statement
+                if (bulkIngestThreshold > 0 && newTracks.size() >= bulkIngestThreshold) {
+                    LOGGER.debug("Bulk ingesting {} new tracks", newTracks.size());
+                    BulkTrackIngester.ingest(session, newTracks, newAliases);
+                } else {
+                    BulkTrackIngester.insert(session, newTracks, newAliases);
+                }
 
-            // Collect all distinct albums
-            var distinctAlbums = resolvedNewTracks.stream()
-                    .map(TidalTrack::getAlbum)
-                    .distinct()
-                    .map(TidalAlbum.class::cast)
-                    .toList();
+                EntityQueries.fillMissingIsrcs(session, missingIsrcs);
 
-            var albumMap = storeAlbums(distinctAlbums, artistMap);
+                unitOfWork.markSuccessful();
+            }
+        }
 
-            // Store new tracks with DB references
-            var fetchedTracks = new ArrayList<Track>();
-            var allTracks = resolvedNewTracks.stream().map(track -> {
-                if (existingTracks.containsKey(track.getId())) {
-                    return (Track) existingTracks.get(track.getId());
-                }
+        var storedTracks = new HashMap<String, TidalTrack>(preparedTracks.storedTracks());
+        for (var track : newTracks) {
+            storedTracks.put(track.getId(), track);
 
-                var storedTrack = new TidalTrack(
-                        track.getId(),
-                        track.getName(),
-                        track.getArtists().stream()
-                                .map(Artist::getId)
-                                .map(artistMap::get)
-                                .toList(),
-                        albumMap.get(track.getAlbum().getId()),
-                        track.getDuration(),
-                        track.getSearchAliases()
-                );
+            if (track.getAlbum() != null) {
+                albumCache.put(track.getAlbum().getId(), (TidalAlbum) track.getAlbum());
+            }
 
-                LOGGER.debug("Storing new track: {}", storedTrack.getId());
-                session.save(storedTrack);
-                fetchedTracks.add(storedTrack);
-                return storedTrack;
-            }).toList();
+            for (var artist : track.getArtists()) {
+                if (artist != null) {
+                    artistCache.put(artist.getId(), (TidalArtist) artist);
+                }
+            }
+        }
 
-            return new StoredTracks(fetchedTracks, allTracks);
+        // Existing tracks given new aliases or an ISRC are out of date, so they're looked up again next time
+        storedTracks.forEach((id, track) -> {
+            if (newAliases.containsKey(id) || missingIsrcs.containsKey(id)) {
+                trackCache.invalidate(id);
+            } else {
+                trackCache.put(id, track);
+            }
+        });
+
+        // Expand back to the original order, including duplicates
+        var allTracks = new ArrayList<Track>(preparedTracks.addingTracks().size());
+        for (var addingTrack : preparedTracks.addingTracks()) {
+            var storedTrack = storedTracks.get(addingTrack.getId());
+            if (storedTrack != null) {
+                allTracks.add(storedTrack);
+            }
         }
-    }
 
-    /**
-     * Store a single artist.
-     *
-     * @param artist The artist to store
-     * @return The stored artist entity
-     */
-    private TidalArtist storeArtist(TidalArtist artist) {
-        return storeArtists(List.of(artist)).values().iterator().next();
+        return new StoredTracks(List.copyOf(newTracks), allTracks);
     }
 
     /**
-     * Store a single album.
+     * Picks which of two tracks with the same ID to store, preferring a full track over a stub. If both are full
+     * tracks, such as when several searches resolved to the same track, the search aliases of both are kept.
      *
-     * @param album The album to store
-     * @return The stored album entity
+     * @param existing The track seen first
+     * @param adding   The duplicate track
+     * @return The track to store
      */
-    private TidalAlbum storeAlbum(TidalAlbum album) {
-        var artistMap = storeArtists(album.getArtists().stream().distinct().map(TidalArtist.class::cast).toList());
-        return storeAlbums(List.of(album), artistMap).values().iterator().next();
+    private static Track mergeDuplicateTrack(Track existing, Track adding) {
+        if (existing instanceof TidalTrackStub) {
+            return adding;
+        }
+
+        if (existing instanceof TidalTrack existingTrack && adding instanceof TidalTrack addingTrack && !(adding instanceof TidalTrackStub)) {
+            for (var alias : addingTrack.getSearchAliases()) {
+                if (!existingTrack.getSearchAliases().contains(alias)) {
+                    existingTrack.addSearchAlias(alias);
+                }
+            }
+        }
+
+        return existing;
     }
 
     /**
@@ -859,63 +1374,61 @@ public class TidalMusicCache implements MusicCache {
     }
 
     /**
-     * Store a playlist with resolved user reference.
+     * Store a playlist and its creator. A playlist or user already stored, including by another thread at the same
+     * time, is kept as it is.
      *
      * @param playlist The playlist to store
      * @return The stored playlist entity
      */
     private TidalPlaylist storePlaylist(TidalPlaylist playlist) {
+        TidalPlaylist storedPlaylist;
         try (var entityTransaction = EntityTransaction.beginTransaction()) {
             var session = entityTransaction.getSession();
 
-            // Check if playlist already exists in DB
-            var existingPlaylist = session.find(TidalPlaylist.class, playlist.getId());
-            if (existingPlaylist != null) {
-                LOGGER.debug("Playlist already in DB: {}", existingPlaylist.getId());
-                return existingPlaylist;
-            }
+            LOGGER.debug("Storing playlist: {}", playlist.getId());
+            EntityQueries.insertPlaylist(session, playlist);
+            storedPlaylist = session.find(TidalPlaylist.class, playlist.getId());
 
-            var user = (TidalUser) playlist.getCreator();
-            var databaseUser = session.find(TidalUser.class, user.getId());
-            if (databaseUser == null) {
-                LOGGER.debug("Storing new user: {}", user.getId());
-                session.save(databaseUser = user);
-            } else {
-                LOGGER.debug("User already in DB: {}", user.getId());
-            }
-
-            var newPlaylist = new TidalPlaylist(playlist.getId(), playlist.getTitle(), databaseUser, playlist.getTrackCount());
-            LOGGER.debug("Storing new playlist: {}", newPlaylist.getId());
-            session.save(newPlaylist);
-            return newPlaylist;
+            entityTransaction.markSuccessful();
         }
+
+        playlistCache.put(storedPlaylist.getId(), storedPlaylist);
+        return storedPlaylist;
     }
 
     /**
-     * Store a user.
+     * Record to hold tracks prepared to be stored.
      *
-     * @param user The user to store
-     * @return The stored user entity
+     * @param addingTracks The tracks being stored, in their original order and including any duplicates
+     * @param storedTracks The tracks already stored, keyed by ID
+     * @param newTracks    The tracks not yet stored, with all stubs resolved
+     * @param newAliases   New search aliases of tracks already stored, keyed by track ID
+     * @param missingIsrcs The ISRCs of tracks already stored without one, keyed by track ID
      */
-    private TidalUser storeUser(TidalUser user) {
-        try (var entityTransaction = EntityTransaction.beginTransaction()) {
-            var session = entityTransaction.getSession();
+    private record PreparedTracks(List<Track> addingTracks, Map<String, TidalTrack> storedTracks, List<TidalTrack> newTracks,
+                                  Map<String, Set<TrackAlias>> newAliases, Map<String, String> missingIsrcs) {}
 
-            var found = session.find(TidalUser.class, user.getId());
-            if (found != null) {
-                return found;
-            }
-
-            session.save(user);
-            return user;
-        }
-    }
+    /**
+     * Record to hold results from a bulk track lookup.
+     *
+     * @param found   The tracks found, keyed by their IDs
+     * @param missing The IDs of tracks that weren't found, in the order they were requested
+     */
+    private record TrackLookup(Map<String, TidalTrack> found, Set<String> missing) {}
 
     /**
      * Record to hold results from storeTracks.
      */
     private record StoredTracks(List<Track> fetchedTracks, List<Track> allTracks) {}
 
+    /**
+     * The key of a lookup by name, such as an album by its name and artist.
+     *
+     * @param name    The name of the entity
+     * @param creator The name of its artist or author
+     */
+    private record NameLookup(String name, String creator) {}
+
     @Override
     public String getIdFromString(String idOrUrl) {
         // Regular expression to match Tidal track URLs or an ID
@@ -3,9 +3,12 @@ package dev.qilletni.lib.tidal.music;
 import com.tidal.sdk.tidalapi.generated.TidalApiClient;
 import com.tidal.sdk.tidalapi.generated.models.*;
 import dev.qilletni.api.music.*;
-import dev.qilletni.lib.tidal.CoroutineHelper;
 import dev.qilletni.lib.tidal.api.helper.IncludedInnerWrapper;
 import dev.qilletni.lib.tidal.api.helper.ModelHelper;
+import dev.qilletni.lib.tidal.api.request.TidalRequestExecutor;
+import dev.qilletni.lib.tidal.music.async.AsyncHelper;
+import dev.qilletni.lib.tidal.music.async.PrefetchingPageIterator;
+import dev.qilletni.lib.tidal.music.async.PrefetchingPageIterator.Page;
 import dev.qilletni.lib.tidal.music.entities.*;
 import dev.qilletni.lib.tidal.music.entities.stubs.TidalAlbumStub;
 import dev.qilletni.lib.tidal.music.entities.stubs.TidalArtistStub;
@@ -16,9 +19,16 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import retrofit2.Response;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -27,18 +37,53 @@ public class TidalMusicFetcher implements MusicFetcher {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(TidalMusicFetcher.class);
 
+    public static final int DEFAULT_MAX_CONCURRENT_REQUESTS = 4;
+    private static final int BATCH_PAGE_SIZE = 20;
+
     private final TidalMusicStrategies musicStrategies;
     private final String countryCode;
     private final TidalApiClient tidalApi;
     private final UsersResourceObject currentUser;
+    private final TidalRequestExecutor requestExecutor;
     private final boolean prioritizeUserCollection = true;
     private final boolean caseSensitivePlaylist = true;
 
+    private final int maxConcurrentRequests;
+
+    /**
+     * Runs blocking work that follows a request, such as resolving search results through the cache, so it doesn't
+     * hold up the coroutine dispatcher.
+     */
+    private final ExecutorService blockingExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
     public TidalMusicFetcher(TidalMusicStrategies musicStrategies, String countryCode, TidalApiClient tidalApi, UsersResourceObject currentUser) {
+        this(musicStrategies, countryCode, tidalApi, currentUser, new TidalRequestExecutor(), DEFAULT_MAX_CONCURRENT_REQUESTS);
+    }
+
+    /**
+     * Creates a new {@link TidalMusicFetcher}.
+     *
+     * @param musicStrategies       The strategies used to resolve searches
+     * @param countryCode           The country code to make requests with
+     * @param tidalApi              The authorized API client
+     * @param currentUser           The user being authenticated as
+     * @param requestExecutor       The executor all API requests are made through, for rate limiting and retries
+     * @param maxConcurrentRequests The maximum number of requests a single batch may have in flight at once
+     */
+    public TidalMusicFetcher(TidalMusicStrategies musicStrategies, String countryCode, TidalApiClient tidalApi, UsersResourceObject currentUser, TidalRequestExecutor requestExecutor, int maxConcurrentRequests) {
         this.musicStrategies = musicStrategies;
         this.countryCode = countryCode;
         this.tidalApi = tidalApi;
         this.currentUser = currentUser;
+        this.requestExecutor = requestExecutor;
+        this.maxConcurrentRequests = Math.max(1, maxConcurrentRequests);
+    }
+
+    /**
+     * Stops accepting new blocking work. Any in-flight work is allowed to finish.
+     */
+    public void shutdown() {
+        blockingExecutor.shutdown();
     }
 
     /**
@@ -75,98 +120,163 @@ public class TidalMusicFetcher implements MusicFetcher {
 
     @Override
     public Optional<Track> fetchTrack(String name, String artist) {
-        LOGGER.debug("fetchTrack({}, {})", name, artist);
+        return Optional.ofNullable(searchTrack(name, artist).track());
+    }
 
-        try {
-            Response<SearchResultsSingleResourceDataDocument> response =
-                    CoroutineHelper.runSuspend(cont ->
-                            tidalApi.createSearchResults().searchResultsIdGet(
-                                    "%s %s".formatted(name, artist),
-                                    countryCode,
-                                    "include",
-                                    List.of("tracks"),
-                                    cont
-                            ));
+    /**
+     * Searches for a track and resolves the results with the current search resolve strategy. Unlike
+     * {@link #fetchTrack(String, String)}, this distinguishes a search with no good enough match from one that failed.
+     *
+     * @param name   The name of the track
+     * @param artist The name of the track's artist
+     * @return The outcome of the search
+     */
+    public TrackSearchResult searchTrack(String name, String artist) {
+        return AsyncHelper.join(searchTrackAsync(name, artist));
+    }
 
-            if (!response.isSuccessful() || response.body() == null || response.body().getData().getRelationships() == null || response.body().getData().getRelationships().getTracks().getData() == null) {
-                LOGGER.error("Failed to fetch track: {}", getFormatedErrorResponse(response));
-                return Optional.empty();
-            }
+    /**
+     * Asynchronously searches for a track. See {@link #searchTrack(String, String)}.
+     *
+     * @param name   The name of the track
+     * @param artist The name of the track's artist
+     * @return A future completed with the outcome of the search
+     */
+    public CompletableFuture<TrackSearchResult> searchTrackAsync(String name, String artist) {
+        LOGGER.debug("searchTrack({}, {})", name, artist);
+
+        CompletableFuture<Response<SearchResultsSingleResourceDataDocument>> responseFuture =
+                requestExecutor.executeAsync(cont ->
+                        tidalApi.createSearchResults().searchResultsIdGet(
+                                "%s %s".formatted(name, artist),
+                                countryCode,
+                                "include",
+                                List.of("tracks"),
+                                cont
+                        ));
+
+        // Resolving the results may look up and store tracks through the cache, which blocks
+        return responseFuture.thenApplyAsync(response -> resolveSearchResponse(response, name, artist), blockingExecutor);
+    }
+
+    private TrackSearchResult resolveSearchResponse(Response<SearchResultsSingleResourceDataDocument> response, String name, String artist) {
+        if (!response.isSuccessful() || response.body() == null || response.body().getData().getRelationships() == null || response.body().getData().getRelationships().getTracks().getData() == null) {
+            LOGGER.error("Failed to fetch track: {}", getFormatedErrorResponse(response));
+            return TrackSearchResult.failed();
+        }
 
-            var currentSearchResolveStrategy = musicStrategies.getSearchResolveStrategyProvider().orElseThrow().getCurrentSearchResolveStrategy();
-
-            var searchResolveResult = currentSearchResolveStrategy.resolveTrack(response.body(), name, artist);
-            return searchResolveResult.processToTrack(resourceIdentifier -> fetchTrackById(resourceIdentifier.getId()))
-                    .map(track -> {
-                        if (track instanceof TidalTrack tidalTrack && shouldCacheAliases()) {
-                            if (!track.getName().equals(name) || !track.getArtist().getName().equals(artist)) {
-                                // This associates the fetch params with the actual track, so it may be looked up directly
-                                // and bypass the expensive search resolve strategy
-                                LOGGER.info("Adding search alias to track {}: ({}, {})", track, name, artist);
-                                tidalTrack.addSearchAlias(new TrackAlias(name, artist));
-                            }
-                        }
+        if (response.body().getData().getRelationships().getTracks().getData().isEmpty()) {
+            return TrackSearchResult.noMatch();
+        }
 
-                        return track;
-                    });
-        } catch (InterruptedException e) {
-            throw new RuntimeException(e);
+        var currentSearchResolveStrategy = musicStrategies.getSearchResolveStrategyProvider().orElseThrow().getCurrentSearchResolveStrategy();
+
+        var searchResolveResult = currentSearchResolveStrategy.resolveTrack(response.body(), name, artist);
+        if (searchResolveResult == null) {
+            return TrackSearchResult.noMatch();
         }
+
+        return searchResolveResult.processToTrack(resourceIdentifier -> fetchTrackById(resourceIdentifier.getId()))
+                .map(track -> {
+                    if (track instanceof TidalTrack tidalTrack && shouldCacheAliases()) {
+                        if (!track.getName().equals(name) || !track.getArtist().getName().equals(artist)) {
+                            // This associates the fetch params with the actual track, so it may be looked up directly
+                            // and bypass the expensive search resolve strategy
+                            LOGGER.info("Adding search alias to track {}: ({}, {})", track, name, artist);
+                            tidalTrack.addSearchAlias(new TrackAlias(name, artist));
+                        }
+                    }
+
+                    return TrackSearchResult.matched(track);
+                })
+                .orElseGet(TrackSearchResult::failed);
     }
 
     @Override
     public Optional<Track> fetchTrackById(String id) {
+        return AsyncHelper.join(fetchTrackByIdAsync(id));
+    }
+
+    public CompletableFuture<Optional<Track>> fetchTrackByIdAsync(String id) {
         LOGGER.debug("fetchTrack({})", id);
 
-        try {
-            Response<TracksSingleResourceDataDocument> singleTrackResponse =
-                    CoroutineHelper.runSuspend(cont ->
-                            tidalApi.createTracks().tracksIdGet(
-                                    id,
-                                    countryCode,
-                                    List.of("albums", "artists"),
-                                    cont
-                            ));
+        CompletableFuture<Response<TracksSingleResourceDataDocument>> responseFuture =
+                requestExecutor.executeAsync(cont ->
+                        tidalApi.createTracks().tracksIdGet(
+                                id,
+                                countryCode,
+                                List.of("albums", "artists"),
+                                cont
+                        ));
 
+        return responseFuture.thenApply(singleTrackResponse -> {
             if (!singleTrackResponse.isSuccessful() || singleTrackResponse.body() == null || singleTrackResponse.body().getData().getRelationships() == null) {
                 LOGGER.error("Failed to fetch track by ID: {}", getFormatedErrorResponse(singleTrackResponse));
                 return Optional.empty();
             }
 
             return createTrackEntity(singleTrackResponse.body());
-        } catch (InterruptedException e) {
-            throw new RuntimeException(e);
-        }
+        });
     }
 
     @Override
     public List<Track> fetchTracks(List<TrackNameArtist> list) {
-        throw new RuntimeException("fetchTracks(List<TrackNameArtist>) not supported!");
+        return searchTracks(list).stream()
+                .map(TrackSearchResult::track)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /**
+     * Searches for many tracks concurrently, with no more than the configured maximum number of searches in flight at
+     * once. See {@link #searchTrack(String, String)}.
+     *
+     * @param queries The names and artists of the tracks to search for
+     * @return The outcome of each search, in the same order as the given queries
+     */
+    public List<TrackSearchResult> searchTracks(List<TrackNameArtist> queries) {
+        return AsyncHelper.join(searchTracksAsync(queries));
+    }
+
+    /**
+     * Asynchronously searches for many tracks. See {@link #searchTracks(List)}.
+     *
+     * @param queries The names and artists of the tracks to search for
+     * @return A future completed with the outcome of each search, in the same order as the given queries
+     */
+    public CompletableFuture<List<TrackSearchResult>> searchTracksAsync(List<TrackNameArtist> queries) {
+        LOGGER.debug("searchTracks({} queries)", queries.size());
+        return AsyncHelper.mapConcurrently(queries, maxConcurrentRequests, query -> searchTrackAsync(query.name(), query.artist()));
     }
 
     public List<Track> fetchTracksById(List<String> ids) {
-        return partitionList(ids, 20)
-                .stream()
-                .flatMap(partition -> fetchLimitedTracksById(partition).stream())
-                .toList();
+        return AsyncHelper.join(fetchTracksByIdAsync(ids));
+    }
+
+    public CompletableFuture<List<Track>> fetchTracksByIdAsync(List<String> ids) {
+        return fetchPartitionedAsync(ids, this::fetchLimitedTracksByIdAsync);
     }
 
     public List<Track> fetchLimitedTracksById(List<String> list) {
-        LOGGER.debug("fetchTracksById({})", String.join(", ", list));
+        return AsyncHelper.join(fetchLimitedTracksByIdAsync(list));
+    }
 
-        try {
-            Response<TracksMultiResourceDataDocument> multiTrackResponse =
-                    CoroutineHelper.runSuspend(cont ->
-                            tidalApi.createTracks().tracksGet(
-                                    countryCode,
-                                    null,
-                                    List.of("albums", "artists"),
-                                    null,
-                                    null,
-                                    list,
-                                    cont
-                            ));
+    public CompletableFuture<List<Track>> fetchLimitedTracksByIdAsync(List<String> list) {
+        LOGGER.debug("fetchTracksById({})", String.join(", ", list));
 
+        CompletableFuture<Response<TracksMultiResourceDataDocument>> responseFuture =
+                requestExecutor.executeAsync(cont ->
+                        tidalApi.createTracks().tracksGet(
+                                countryCode,
+                                null,
+                                List.of("albums", "artists"),
+                                null,
+                                null,
+                                list,
+                                cont
+                        ));
+
+        return responseFuture.thenApply(multiTrackResponse -> {
             if (!multiTrackResponse.isSuccessful() || multiTrackResponse.body() == null) {
                 LOGGER.error("Failed to fetch track by ID: {}", getFormatedErrorResponse(multiTrackResponse));
                 return Collections.emptyList();
@@ -175,9 +285,63 @@ public class TidalMusicFetcher implements MusicFetcher {
             var body = multiTrackResponse.body();
 
             return createTrackList(body.getData(), body.getIncluded());
-        } catch (InterruptedException e) {
-            throw new RuntimeException(e);
-        }
+        });
+    }
+
+    /**
+     * Fetches the tracks with any of the given ISRCs, using the tracks endpoint's ISRC filter with one request per
+     * {@link #BATCH_PAGE_SIZE} ISRCs. An ISRC may match several tracks, or none.
+     *
+     * @param isrcs The ISRCs to fetch the tracks of
+     * @return The fetched tracks, in no particular order
+     */
+    public List<Track> fetchTracksByIsrc(List<String> isrcs) {
+        return AsyncHelper.join(fetchTracksByIsrcAsync(isrcs));
+    }
+
+    public CompletableFuture<List<Track>> fetchTracksByIsrcAsync(List<String> isrcs) {
+        return fetchPartitionedAsync(isrcs, this::fetchLimitedTracksByIsrcAsync);
+    }
+
+    /**
+     * Fetches the tracks matching a batch of ISRCs, following the page cursor until every matching track has been read,
+     * as a batch of ISRCs may match more tracks than fit on one page of results.
+     *
+     * @param list The ISRCs to fetch the tracks of, at most {@link #BATCH_PAGE_SIZE}
+     * @return A future completed with the fetched tracks
+     */
+    public CompletableFuture<List<Track>> fetchLimitedTracksByIsrcAsync(List<String> list) {
+        LOGGER.debug("fetchTracksByIsrc({})", String.join(", ", list));
+
+        return AsyncHelper.collectPages(cursor -> fetchTracksByIsrcPageAsync(list, cursor));
+    }
+
+    private CompletableFuture<Page<Track>> fetchTracksByIsrcPageAsync(List<String> isrcs, @Nullable String cursor) {
+        LOGGER.debug("fetchTracksByIsrcPage({})", cursor);
+
+        CompletableFuture<Response<TracksMultiResourceDataDocument>> responseFuture =
+                requestExecutor.executeAsync(cont ->
+                        tidalApi.createTracks().tracksGet(
+                                countryCode,
+                                cursor,
+                                List.of("albums", "artists"),
+                                null,
+                                isrcs,
+                                null,
+                                cont
+                        ));
+
+        return responseFuture.thenApply(multiTrackResponse -> {
+            if (!multiTrackResponse.isSuccessful() || multiTrackResponse.body() == null) {
+                LOGGER.error("Failed to fetch tracks by ISRC, some may be missed: {}", getFormatedErrorResponse(multiTrackResponse));
+                return Page.last(Collections.emptyList());
+            }
+
+            var body = multiTrackResponse.body();
+            var nextLink = body.getLinks() != null ? body.getLinks().getNext() : null;
+
+            return new Page<>(createTrackList(body.getData(), body.getIncluded()), ModelHelper.extractPageCursor(nextLink).orElse(null));
+        });
     }
 
     @Override
@@ -188,15 +352,16 @@ public class TidalMusicFetcher implements MusicFetcher {
             if (prioritizeUserCollection && isSelfUser(author)) {
                 // Check user's collection first
 
-                String nextLink;
+                String nextCursor = null;
                 do {
+                    var pageCursor = nextCursor;
                     Response<UserCollectionsPlaylistsMultiRelationshipDataDocument> response =
-                            CoroutineHelper.runSuspend(cont ->
+                            requestExecutor.execute(cont ->
                                     tidalApi.createUserCollections().userCollectionsIdRelationshipsPlaylistsGet(
                                             currentUser.getId(),
                                             null,
                                             null,
-                                            null,
+                                            pageCursor,
                                             List.of("playlists"),
                                             cont
                                     ));
@@ -209,7 +374,7 @@ public class TidalMusicFetcher implements MusicFetcher {
                     var body = response.body();
                     var includedInnerWrapper = new IncludedInnerWrapper(body.getIncluded());
 
-                    nextLink = body.getLinks().getNext();
+                    nextCursor = ModelHelper.extractPageCursor(body.getLinks().getNext()).orElse(null);
 
                     Predicate<PlaylistsResourceObject> playlistPredicate;
 
@@ -229,13 +394,13 @@ public class TidalMusicFetcher implements MusicFetcher {
                     if (!playlistMatches.isEmpty()) {
                         return fetchPlaylistById(playlistMatches.getFirst().getId());
                     }
-                } while (nextLink != null);
+                } while (nextCursor != null);
             }
 
             LOGGER.debug("Continuing to normal playlist search");
 
             Response<SearchResultsSingleResourceDataDocument> response =
-                    CoroutineHelper.runSuspend(cont ->
+                    requestExecutor.execute(cont ->
                             tidalApi.createSearchResults().searchResultsIdGet(
                                     "%s %s".formatted(name, author),
                                     countryCode,
@@ -259,71 +424,79 @@ public class TidalMusicFetcher implements MusicFetcher {
 
     @Override
     public Optional<Playlist> fetchPlaylistById(String id) {
+        return AsyncHelper.join(fetchPlaylistByIdAsync(id));
+    }
+
+    public CompletableFuture<Optional<Playlist>> fetchPlaylistByIdAsync(String id) {
         LOGGER.debug("fetchPlaylistById({})", id);
 
-        try {
-            Response<PlaylistsSingleResourceDataDocument> singlePlaylistResponse =
-                    CoroutineHelper.runSuspend(cont ->
-                            tidalApi.createPlaylists().playlistsIdGet(
-                                    id,
-                                    countryCode,
-                                    List.of("owners"),
-                                    cont
-                            ));
+        CompletableFuture<Response<PlaylistsSingleResourceDataDocument>> responseFuture =
+                requestExecutor.executeAsync(cont ->
+                        tidalApi.createPlaylists().playlistsIdGet(
+                                id,
+                                countryCode,
+                                List.of("owners"),
+                                cont
+                        ));
 
+        return responseFuture.thenApply(singlePlaylistResponse -> {
             if (!singlePlaylistResponse.isSuccessful()) {
                 LOGGER.error("Failed to fetch playlist info: {}", getFormatedErrorResponse(singlePlaylistResponse));
                 return Optional.empty();
             }
 
             return createCollectionEntity(singlePlaylistResponse.body());
-        } catch (InterruptedException e) {
-            throw new RuntimeException(e);
-        }
+        });
     }
 
     @Override
     public Optional<Album> fetchAlbum(String name, String artist) {
-        LOGGER.debug("fetchAlbum({}, {})", name, artist);
+        return AsyncHelper.join(fetchAlbumAsync(name, artist));
+    }
 
-        try {
-            Response<SearchResultsSingleResourceDataDocument> response =
-                    CoroutineHelper.runSuspend(cont ->
-                            tidalApi.createSearchResults().searchResultsIdGet(
-                                    "%s %s".formatted(name, artist),
-                                    countryCode,
-                                    "include",
-                                    List.of("albums"),
-                                    cont
-                            ));
+    public CompletableFuture<Optional<Album>> fetchAlbumAsync(String name, String artist) {
+        LOGGER.debug("fetchAlbum({}, {})", name, artist);
 
+        CompletableFuture<Response<SearchResultsSingleResourceDataDocument>> responseFuture =
+                requestExecutor.executeAsync(cont ->
+                        tidalApi.createSearchResults().searchResultsIdGet(
+                                "%s %s".formatted(name, artist),
+                                countryCode,
+                                "include",
+                                List.of("albums"),
+                                cont
+                        ));
+
+        return responseFuture.thenCompose(response -> {
             if (!response.isSuccessful() || response.body() == null || response.body().getData().getRelationships() == null || response.body().getData().getRelationships().getAlbums().getData() == null) {
                 LOGGER.error("Failed to fetch artist: {}", getFormatedErrorResponse(response));
-                return Optional.empty();
+                return CompletableFuture.completedFuture(Optional.empty());
             }
 
             var data = response.body().getData().getRelationships().getAlbums().getData().getFirst();
 
-            return fetchAlbumById(data.getId());
-        } catch (InterruptedException e) {
-            throw new RuntimeException(e);
-        }
+            return fetchAlbumByIdAsync(data.getId());
+        });
     }
 
     @Override
     public Optional<Album> fetchAlbumById(String id) {
+        return AsyncHelper.join(fetchAlbumByIdAsync(id));
+    }
+
+    public CompletableFuture<Optional<Album>> fetchAlbumByIdAsync(String id) {
         LOGGER.debug("fetchAlbumById({})", id);
 
-        try {
-            Response<AlbumsSingleResourceDataDocument> singleAlbumResponse =
-                    CoroutineHelper.runSuspend(cont ->
-                            tidalApi.createAlbums().albumsIdGet(
-                                    id,
-                                    countryCode,
-                                    List.of("artists"),
-                                    cont
-                            ));
+        CompletableFuture<Response<AlbumsSingleResourceDataDocument>> responseFuture =
+                requestExecutor.executeAsync(cont ->
+                        tidalApi.createAlbums().albumsIdGet(
+                                id,
+                                countryCode,
+                                List.of("artists"),
+                                cont
+                        ));
 
+        return responseFuture.thenApply(singleAlbumResponse -> {
             if (!singleAlbumResponse.isSuccessful()) {
                 LOGGER.error("Failed to fetch artist info: {}", getFormatedErrorResponse(singleAlbumResponse));
                 return Optional.empty();
@@ -331,38 +504,41 @@ public class TidalMusicFetcher implements MusicFetcher {
 
             return createAlbumEntity(singleAlbumResponse.body())
                     .map(Album.class::cast);
-        } catch (InterruptedException e) {
-            throw new RuntimeException(e);
-        }
+        });
     }
 
     public List<Album> fetchAlbumsByIds(List<String> ids) {
-        return partitionList(ids, 20)
-                .stream()
-                .flatMap(partition -> fetchLimitedAlbumsByIds(partition).stream())
-                .toList();
+        return AsyncHelper.join(fetchAlbumsByIdsAsync(ids));
+    }
+
+    public CompletableFuture<List<Album>> fetchAlbumsByIdsAsync(List<String> ids) {
+        return fetchPartitionedAsync(ids, this::fetchLimitedAlbumsByIdsAsync);
     }
 
     public List<Album> fetchLimitedAlbumsByIds(List<String> ids) {
+        return AsyncHelper.join(fetchLimitedAlbumsByIdsAsync(ids));
+    }
+
+    public CompletableFuture<List<Album>> fetchLimitedAlbumsByIdsAsync(List<String> ids) {
         LOGGER.debug("fetchAlbumsByIds({})", String.join(", ", ids));
 
         if (ids.isEmpty()) {
-            return Collections.emptyList();
+            return CompletableFuture.completedFuture(Collections.emptyList());
         }
 
-        try {
-            Response<AlbumsMultiResourceDataDocument> multiAlbumResponse =
-                    CoroutineHelper.runSuspend(cont ->
-                            tidalApi.createAlbums().albumsGet(
-                                    countryCode,
-                                    null,
-                                    List.of("artists"),
-                                    null,
-                                    ids,
-                                    null,
-                                    cont
-                            ));
-
+        CompletableFuture<Response<AlbumsMultiResourceDataDocument>> responseFuture =
+                requestExecutor.executeAsync(cont ->
+                        tidalApi.createAlbums().albumsGet(
+                                countryCode,
+                                null,
+                                List.of("artists"),
+                                null,
+                                ids,
+                                null,
+                                cont
+                        ));
+
+        return responseFuture.thenApply(multiAlbumResponse -> {
             if (!multiAlbumResponse.isSuccessful() || multiAlbumResponse.body() == null) {
                 LOGGER.error("Failed to fetch albums by IDs: {}", getFormatedErrorResponse(multiAlbumResponse));
                 return Collections.emptyList();
@@ -370,94 +546,154 @@ public class TidalMusicFetcher implements MusicFetcher {
 
             var body = multiAlbumResponse.body();
             return createAlbumList(body.getData(), body.getIncluded());
-        } catch (InterruptedException e) {
-            throw new RuntimeException(e);
-        }
+        });
     }
 
     @Override
     public List<Track> fetchAlbumTracks(Album album) {
+        return AsyncHelper.join(fetchAlbumTracksAsync(album));
+    }
+
+    /**
+     * Asynchronously fetches all tracks of an album, following the item cursor until the end of the album.
+     *
+     * @param album The album to fetch tracks of
+     * @return A future completed with the tracks of the album, in album order. Tracks have stub artists
+     */
+    public CompletableFuture<List<Track>> fetchAlbumTracksAsync(Album album) {
         LOGGER.debug("fetchAlbumTracks({})", album.getId());
 
-        try {
-            Response<AlbumsSingleResourceDataDocument> singleAlbumResponse =
-                    CoroutineHelper.runSuspend(cont ->
-                            tidalApi.createAlbums().albumsIdGet(
-                                    album.getId(),
-                                    countryCode,
-                                    List.of("artists"),
-                                    cont
-                            ));
+        var albumEntityFuture = fetchAlbumEntityAsync(album.getId());
 
-            if (!singleAlbumResponse.isSuccessful()) {
-                LOGGER.error("Failed to fetch album info: {}", getFormatedErrorResponse(singleAlbumResponse));
-                return Collections.emptyList();
-            }
+        return AsyncHelper.collectPages(cursor -> fetchAlbumTrackPageAsync(album.getId(), albumEntityFuture, cursor));
+    }
+
+    /**
+     * Fetches the tracks of an album one page at a time, following the item cursor until the end of the album. The
+     * album's info and its first page of items are requested concurrently, and each following page is fetched in the
+     * background while the current one is being processed.
+     *
+     * @param album The album to fetch tracks of
+     * @return An iterator of each page of tracks, in album order. Tracks have stub artists
+     */
+    public Iterator<List<Track>> fetchAlbumTrackPages(Album album) {
+        LOGGER.debug("fetchAlbumTrackPages({})", album.getId());
 
-            var albumEntity = createAlbumEntity(singleAlbumResponse.body()).get();
+        var albumEntityFuture = fetchAlbumEntityAsync(album.getId());
 
-            Response<AlbumsItemsMultiRelationshipDataDocument> albumItemsResponse =
-                    CoroutineHelper.runSuspend(cont ->
-                            tidalApi.createAlbums().albumsIdRelationshipsItemsGet(
-                                    album.getId(),
-                                    countryCode,
-                                    null,
-                                    List.of("items"),
-                                    cont
-                            ));
+        return new PrefetchingPageIterator<>(cursor -> fetchAlbumTrackPageAsync(album.getId(), albumEntityFuture, cursor));
+    }
 
-            if (!albumItemsResponse.isSuccessful()) {
-                LOGGER.error("Failed to fetch album tracks: {}", getFormatedErrorResponse(albumItemsResponse));
-                return Collections.emptyList();
+    private CompletableFuture<Optional<TidalAlbum>> fetchAlbumEntityAsync(String albumId) {
+        return fetchAlbumByIdAsync(albumId).thenApply(album -> album.map(TidalAlbum.class::cast));
+    }
+
+    private CompletableFuture<Page<Track>> fetchAlbumTrackPageAsync(String albumId, CompletableFuture<Optional<TidalAlbum>> albumEntityFuture, @Nullable String cursor) {
+        LOGGER.debug("fetchAlbumTrackPage({}, {})", albumId, cursor);
+
+        CompletableFuture<Response<AlbumsItemsMultiRelationshipDataDocument>> responseFuture =
+                requestExecutor.executeAsync(cont ->
+                        tidalApi.createAlbums().albumsIdRelationshipsItemsGet(
+                                albumId,
+                                countryCode,
+                                cursor,
+                                List.of("items"),
+                                cont
+                        ));
+
+        return responseFuture.thenCombine(albumEntityFuture, (albumItemsResponse, albumEntity) -> {
+            if (!albumItemsResponse.isSuccessful() || albumItemsResponse.body() == null) {
+                LOGGER.error("Failed to fetch album tracks, album {} may be incomplete: {}", albumId, getFormatedErrorResponse(albumItemsResponse));
+                return Page.last(Collections.emptyList());
             }
 
-            return createAlbumTrackList(albumEntity, albumItemsResponse.body());
-        } catch (InterruptedException e) {
-            throw new RuntimeException(e);
-        }
+            if (albumEntity.isEmpty()) {
+                LOGGER.error("Failed to fetch album info for {}", albumId);
+                return Page.last(Collections.emptyList());
+            }
+
+            var body = albumItemsResponse.body();
+            var nextLink = body.getLinks() != null ? body.getLinks().getNext() : null;
+
+            return new Page<>(createAlbumTrackList(albumEntity.get(), body), ModelHelper.extractPageCursor(nextLink).orElse(null));
+        });
     }
 
     @Override
     public List<Track> fetchPlaylistTracks(Playlist playlist) {
+        return AsyncHelper.join(fetchPlaylistTracksAsync(playlist));
+    }
+
+    /**
+     * Asynchronously fetches all track stubs of a playlist, following the item cursor until the end of the playlist.
+     *
+     * @param playlist The playlist to fetch tracks of
+     * @return A future completed with the track stubs of the playlist, in playlist order
+     */
+    public CompletableFuture<List<Track>> fetchPlaylistTracksAsync(Playlist playlist) {
         LOGGER.debug("fetchPlaylistTracks({})", playlist.getId());
 
-        try {
-            Response<PlaylistsItemsMultiRelationshipDataDocument> playlistItemsResponse =
-                    CoroutineHelper.runSuspend(cont ->
-                            tidalApi.createPlaylists().playlistsIdRelationshipsItemsGet(
-                                    playlist.getId(),
-                                    countryCode,
-                                    null,
-                                    List.of("items"),
-                                    cont
-                            ));
+        return AsyncHelper.collectPages(cursor -> fetchPlaylistTrackPageAsync(playlist.getId(), cursor));
+    }
 
-            if (!playlistItemsResponse.isSuccessful()) {
-                LOGGER.error("Failed to fetch album items: {}", getFormatedErrorResponse(playlistItemsResponse));
-                return Collections.emptyList();
+    /**
+     * Fetches the track stubs of a playlist one page at a time, following the item cursor until the end of the
+     * playlist. The next page is fetched in the background while the current one is being processed.
+     *
+     * @param playlist The playlist to fetch tracks of
+     * @return An iterator of each page of track stubs, in playlist order
+     */
+    public Iterator<List<Track>> fetchPlaylistTrackPages(Playlist playlist) {
+        LOGGER.debug("fetchPlaylistTrackPages({})", playlist.getId());
+
+        return new PrefetchingPageIterator<>(cursor -> fetchPlaylistTrackPageAsync(playlist.getId(), cursor));
+    }
+
+    private CompletableFuture<Page<Track>> fetchPlaylistTrackPageAsync(String playlistId, @Nullable String cursor) {
+        LOGGER.debug("fetchPlaylistTrackPage({}, {})", playlistId, cursor);
+
+        CompletableFuture<Response<PlaylistsItemsMultiRelationshipDataDocument>> responseFuture =
+                requestExecutor.executeAsync(cont ->
+                        tidalApi.createPlaylists().playlistsIdRelationshipsItemsGet(
+                                playlistId,
+                                countryCode,
+                                cursor,
+                                List.of("items"),
+                                cont
+                        ));
+
+        return responseFuture.thenApply(playlistItemsResponse -> {
+            if (!playlistItemsResponse.isSuccessful() || playlistItemsResponse.body() == null) {
+                LOGGER.error("Failed to fetch playlist items, playlist {} may be incomplete: {}", playlistId, getFormatedErrorResponse(playlistItemsResponse));
+                return Page.last(Collections.emptyList());
             }
 
-            return createPlaylistTrackList(playlistItemsResponse.body());
-        } catch (InterruptedException e) {
-            throw new RuntimeException(e);
-        }
+            var body = playlistItemsResponse.body();
+            var nextLink = body.getLinks() != null ? body.getLinks().getNext() : null;
+
+            return new Page<>(createPlaylistTrackList(body), ModelHelper.extractPageCursor(nextLink).orElse(null));
+        });
     }
 
     @Override
     public Optional<Artist> fetchArtistById(String id) {
-        LOGGER.debug("fetchArtistById({})", id);
+        return AsyncHelper.join(fetchArtistByIdAsync(id));
+    }
 
-        try {
-            LOGGER.debug("artistsIdGet({}, {})", id, countryCode);
-            Response<ArtistsSingleResourceDataDocument> response =
-                    CoroutineHelper.runSuspend(cont ->
-                            tidalApi.createArtists().artistsIdGet(
-                                    id,
-                                    countryCode,
-                                    List.of(),
-                                    cont
-                            ));
+    public CompletableFuture<Optional<Artist>> fetchArtistByIdAsync(String id) {
+        LOGGER.debug("fetchArtistById({})", id);
 
+        LOGGER.debug("artistsIdGet({}, {})", id, countryCode);
+        CompletableFuture<Response<ArtistsSingleResourceDataDocument>> responseFuture =
+                requestExecutor.executeAsync(cont ->
+                        tidalApi.createArtists().artistsIdGet(
+                                id,
+                                countryCode,
+                                List.of(),
+                                cont
+                        ));
+
+        return responseFuture.thenApply(response -> {
             if (!response.isSuccessful() || response.body() == null) {
                 LOGGER.error("Failed to fetch artist: {}", getFormatedErrorResponse(response));
                 return Optional.empty();
@@ -466,64 +702,69 @@ public class TidalMusicFetcher implements MusicFetcher {
             var artistsResourceObject = response.body().getData();
 
             return Optional.of(createArtistEntity(artistsResourceObject));
-        } catch (InterruptedException e) {
-            throw new RuntimeException(e);
-        }
+        });
     }
 
     @Override
     public Optional<Artist> fetchArtistByName(String name) {
-        LOGGER.debug("fetchArtistByName({})", name);
+        return AsyncHelper.join(fetchArtistByNameAsync(name));
+    }
 
-        try {
-            Response<SearchResultsSingleResourceDataDocument> response =
-                    CoroutineHelper.runSuspend(cont ->
-                            tidalApi.createSearchResults().searchResultsIdGet(
-                                    name,
-                                    countryCode,
-                                    "include",
-                                    List.of("artists"),
-                                    cont
-                            ));
+    public CompletableFuture<Optional<Artist>> fetchArtistByNameAsync(String name) {
+        LOGGER.debug("fetchArtistByName({})", name);
 
+        CompletableFuture<Response<SearchResultsSingleResourceDataDocument>> responseFuture =
+                requestExecutor.executeAsync(cont ->
+                        tidalApi.createSearchResults().searchResultsIdGet(
+                                name,
+                                countryCode,
+                                "include",
+                                List.of("artists"),
+                                cont
+                        ));
+
+        return responseFuture.thenCompose(response -> {
             if (!response.isSuccessful() || response.body() == null || response.body().getData().getRelationships() == null || response.body().getData().getRelationships().getArtists().getData() == null) {
                 LOGGER.error("Failed to fetch artist: {}", getFormatedErrorResponse(response));
-                return Optional.empty();
+                return CompletableFuture.completedFuture(Optional.empty());
             }
 
             var data = response.body().getData().getRelationships().getArtists().getData().getFirst();
 
-            return fetchArtistById(data.getId());
-        } catch (InterruptedException e) {
-            throw new RuntimeException(e);
-        }
+            return fetchArtistByIdAsync(data.getId());
+        });
     }
 
     public List<Artist> fetchArtistsByIds(List<String> ids) {
-        return partitionList(ids, 20)
-                .stream()
-                .flatMap(partition -> fetchLimitedArtistsByIds(partition).stream())
-                .toList();
+        return AsyncHelper.join(fetchArtistsByIdsAsync(ids));
+    }
+
+    public CompletableFuture<List<Artist>> fetchArtistsByIdsAsync(List<String> ids) {
+        return fetchPartitionedAsync(ids, this::fetchLimitedArtistsByIdsAsync);
     }
 
     public List<Artist> fetchLimitedArtistsByIds(List<String> ids) {
+        return AsyncHelper.join(fetchLimitedArtistsByIdsAsync(ids));
+    }
+
+    public CompletableFuture<List<Artist>> fetchLimitedArtistsByIdsAsync(List<String> ids) {
         LOGGER.debug("fetchArtistsByIds({})", String.join(", ", ids));
 
         if (ids.isEmpty()) {
-            return Collections.emptyList();
+            return CompletableFuture.completedFuture(Collections.emptyList());
         }
 
-        try {
-            Response<ArtistsMultiResourceDataDocument> multiArtistResponse =
-                    CoroutineHelper.runSuspend(cont ->
-                            tidalApi.createArtists().artistsGet(
-                                    countryCode,
-                                    List.of(),
-                                    null,
-                                    ids,
-                                    cont
-                            ));
-
+        CompletableFuture<Response<ArtistsMultiResourceDataDocument>> responseFuture =
+                requestExecutor.executeAsync(cont ->
+                        tidalApi.createArtists().artistsGet(
+                                countryCode,
+                                List.of(),
+                                null,
+                                ids,
+                                cont
+                        ));
+
+        return responseFuture.thenApply(multiArtistResponse -> {
             if (!multiArtistResponse.isSuccessful() || multiArtistResponse.body() == null) {
                 LOGGER.error("Failed to fetch artists by IDs: {}", getFormatedErrorResponse(multiArtistResponse));
                 return Collections.emptyList();
@@ -531,15 +772,30 @@ public class TidalMusicFetcher implements MusicFetcher {
 
             var body = multiArtistResponse.body();
             return createArtistList(body.getData());
-        } catch (InterruptedException e) {
-            throw new RuntimeException(e);
-        }
+        });
     }
 
     public boolean shouldCacheAliases() {
         return musicStrategies.getSearchResolveStrategyProvider().orElseThrow().getCurrentSearchResolveStrategy().isCacheable();
     }
 
+    /**
+     * Splits the given IDs into pages of {@link #BATCH_PAGE_SIZE} and fetches each page concurrently, with no more than
+     * the configured maximum number of requests in flight at once. Results are returned in the order of the pages
+     * they came from.
+     *
+     * @param ids          The IDs to fetch
+     * @param fetchLimited The function to fetch a single page of IDs
+     * @return A future completed with all fetched results, in page order
+     * @param <T> The type being fetched
+     */
+    private <T> CompletableFuture<List<T>> fetchPartitionedAsync(List<String> ids, Function<List<String>, CompletableFuture<List<T>>> fetchLimited) {
+        return AsyncHelper.mapConcurrently(partitionList(ids, BATCH_PAGE_SIZE), maxConcurrentRequests, fetchLimited)
+                .thenApply(pages -> pages.stream()
+                        .flatMap(List::stream)
+                        .toList());
+    }
+
     public static <T> List<List<T>> partitionList(List<T> list, int pageSize) {
         return IntStream.range(0, (list.size() + pageSize - 1) / pageSize)
                 .mapToObj(i -> list.subList(i * pageSize, Math.min((i + 1) * pageSize, list.size())))
@@ -562,7 +818,9 @@ public class TidalMusicFetcher implements MusicFetcher {
                 trackData.getAttributes().getTitle(),
                 artists.stream().map(this::createArtistEntityStub).toList(),
                 createAlbumEntityStub(albums.getFirst()),
-                DurationConverter.parseDurationToSeconds(trackData.getAttributes().getDuration())));
+                DurationConverter.parseDurationToSeconds(trackData.getAttributes().getDuration()),
+                trackData.getAttributes().getIsrc(),
+                new ArrayList<>()));
     }
 
     private Optional<Playlist> createCollectionEntity(@Nullable PlaylistsSingleResourceDataDocument playlist) {
@@ -611,20 +869,22 @@ public class TidalMusicFetcher implements MusicFetcher {
 
         var includedInnerWrapper = new IncludedInnerWrapper(albumItems.getIncluded());
 
-        return albumItemsData.stream().map(item -> includedInnerWrapper.getInner(item.getId(), AlbumsResourceObject.class))
+        return albumItemsData.stream().map(item -> includedInnerWrapper.getInner(item.getId(), TracksResourceObject.class))
                 .filter(Optional::isPresent)
                 .map(Optional::get)
-                .map(albumResource -> {
-                    var artistData = albumResource.getRelationships().getArtists().getData();
-                    return (Track) new TidalTrack(albumResource.getId(),
-                            albumResource.getAttributes().getTitle(),
+                .map(trackResource -> {
+                    var artistData = trackResource.getRelationships().getArtists().getData();
+                    return (Track) new TidalTrack(trackResource.getId(),
+                            trackResource.getAttributes().getTitle(),
                             artistData.stream().map(this::createArtistEntityStub).toList(),
                             album,
-                            DurationConverter.parseDurationToSeconds(albumResource.getAttributes().getDuration()));
+                            DurationConverter.parseDurationToSeconds(trackResource.getAttributes().getDuration()),
+                            trackResource.getAttributes().getIsrc(),
+                            new ArrayList<>());
         }).toList();
     }
 
-    private List<Track> createPlaylistTrackList(PlaylistsItemsMultiRelationshipDataDocument playlistItems) {
+    List<Track> createPlaylistTrackList(PlaylistsItemsMultiRelationshipDataDocument playlistItems) {
         var playlistItemsData = playlistItems.getData();
 
         var includedInnerWrapper = new IncludedInnerWrapper(playlistItems.getIncluded());
@@ -636,7 +896,7 @@ public class TidalMusicFetcher implements MusicFetcher {
                 .map(item -> (Track) new TidalTrackStub(item.getId())).toList();
     }
 
-    private List<Track> createTrackList(List<TracksResourceObject> tracks, List<IncludedInner> included) {
+    List<Track> createTrackList(List<TracksResourceObject> tracks, List<IncludedInner> included) {
         var includedInnerWrapper = new IncludedInnerWrapper(included);
 
         return tracks.stream()
@@ -673,7 +933,9 @@ public class TidalMusicFetcher implements MusicFetcher {
                             item.getAttributes().getTitle(),
                             artistData.stream().map(this::createArtistEntityStub).toList(),
                             new TidalAlbumStub(albumData.getFirst().getId()),
-                            DurationConverter.parseDurationToSeconds(item.getAttributes().getDuration())
+                            DurationConverter.parseDurationToSeconds(item.getAttributes().getDuration()),
+                            item.getAttributes().getIsrc(),
+                            new ArrayList<>()
                     );
                 }).toList();
     }
@@ -694,7 +956,7 @@ public class TidalMusicFetcher implements MusicFetcher {
         return new TidalAlbumStub(album.getId());
     }
 
-    private List<Album> createAlbumList(List<AlbumsResourceObject> albums, List<IncludedInner> included) {
+    List<Album> createAlbumList(List<AlbumsResourceObject> albums, List<IncludedInner> included) {
         var includedInnerWrapper = new IncludedInnerWrapper(included);
 
         return albums.stream()
@@ -721,10 +983,29 @@ public class TidalMusicFetcher implements MusicFetcher {
                 .toList();
     }
 
-    private List<Artist> createArtistList(List<ArtistsResourceObject> artists) {
+    List<Artist> createArtistList(List<ArtistsResourceObject> artists) {
         return artists.stream()
                 .map(artistResource -> (Artist) createArtistEntity(artistResource))
                 .toList();
     }
-}
 
+    /**
+     * The outcome of a track search.
+     *
+     * @param track  The track the search resolved to, or {@code null} if there was none
+     * @param failed If the search could not be completed, meaning the absence of a track says nothing about the catalog
+     */
+    public record TrackSearchResult(@Nullable Track track, boolean failed) {
+        public static TrackSearchResult matched(Track track) {
+            return new TrackSearchResult(track, false);
+        }
+
+        public static TrackSearchResult noMatch() {
+            return new TrackSearchResult(null, false);
+        }
+
+        public static TrackSearchResult failed() {
+            return new TrackSearchResult(null, true);
+        }
+    }
+}
@@ -2,13 +2,22 @@ package dev.qilletni.lib.tidal.music;
 
 import dev.qilletni.api.music.Album;
 import dev.qilletni.api.music.Artist;
+import dev.qilletni.api.music.MusicFetcher;
 import dev.qilletni.api.music.MusicTypeConverter;
 import dev.qilletni.api.music.Playlist;
 import dev.qilletni.api.music.Track;
 import dev.qilletni.api.music.User;
+import dev.qilletni.lib.tidal.music.entities.TidalTrack;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,6 +25,31 @@ public class TidalMusicTypeConverter implements MusicTypeConverter {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(TidalMusicTypeConverter.class);
 
+    /**
+     * The {@code Track} API has no ISRC, so tracks from other providers are checked for a public {@code getIsrc()}
+     * returning a {@code String} or {@code Optional<String>}. The method of each track class is only looked up once.
+     */
+    private static final ClassValue<Optional<Method>> ISRC_GETTERS = new ClassValue<>() {
+        @Override
+        protected Optional<Method> computeValue(Class<?> type) {
+            try {
+                var method = type.getMethod("getIsrc");
+                if (method.getReturnType() != String.class && method.getReturnType() != Optional.class) {
+                    return Optional.empty();
+                }
+
+                // Fails if the class is in a package its module doesn't export or open to this one
+                if (!method.trySetAccessible()) {
+                    return Optional.empty();
+                }
+
+                return Optional.of(method);
+            } catch (NoSuchMethodException e) {
+                return Optional.empty();
+            }
+        }
+    };
+
     private final TidalMusicCache musicCache;
 
     public TidalMusicTypeConverter(TidalMusicCache musicCache) {
@@ -24,6 +58,21 @@ public class TidalMusicTypeConverter implements MusicTypeConverter {
 
     @Override
     public Optional<Track> convertTrack(List<Track> tracks) {
+        // An exact ISRC match is preferred over searching by name, so each candidate's ISRC is looked up first, in
+        // order, until one is found
+        var triedIsrcs = new HashSet<String>();
+        for (var track : tracks) {
+            var isrc = getIsrc(track);
+            if (isrc.isEmpty() || !triedIsrcs.add(isrc.get())) {
+                continue;
+            }
+
+            var trackOptional = musicCache.resolveTracksByIsrc(List.of(isrc.get())).getFirst();
+            if (trackOptional.isPresent()) {
+                return trackOptional;
+            }
+        }
+
         // Try all tracks
         for (var track : tracks) {
             var artistName = track.getArtist().getName();
@@ -40,6 +89,167 @@ public class TidalMusicTypeConverter implements MusicTypeConverter {
         return Optional.empty();
     }
 
+    /**
+     * Converts many tracks at once, each given as a list of candidates like {@link #convertTrack(List)}. Rather than
+     * resolving or searching for each candidate in turn, the first ISRC of every track is resolved in bulk, then the
+     * second ISRC of every track still unresolved, and so on. Then the first candidate of every track still unresolved
+     * is searched for in bulk, then the second, and so on.
+     *
+     * @param trackCandidates The candidates of each track to convert
+     * @return The converted track of each candidate list, or empty if no candidate could be found, in the same order
+     */
+    public List<Optional<Track>> convertTracks(List<List<Track>> trackCandidates) {
+        var converted = new ArrayList<Optional<Track>>(Collections.nCopies(trackCandidates.size(), Optional.empty()));
+        var remaining = convertTracksByIsrc(trackCandidates, converted);
+
+        for (int round = 0; !remaining.isEmpty(); round++) {
+            var unresolved = new ArrayList<Integer>();
+            var searchIndices = new ArrayList<Integer>();
+            var searches = new ArrayList<MusicFetcher.TrackNameArtist>();
+
+            for (var index : remaining) {
+                var candidates = trackCandidates.get(index);
+                if (round >= candidates.size()) {
+                    continue;
+                }
+
+                var candidate = candidates.get(round);
+                var artistName = candidate.getArtist().getName();
+                if (artistName == null) {
+                    unresolved.add(index); // Just in case, for some reason this is null
+                    continue;
+                }
+
+                searchIndices.add(index);
+                searches.add(new MusicFetcher.TrackNameArtist(candidate.getName(), artistName));
+            }
+
+            if (!searches.isEmpty()) {
+                var results = musicCache.resolveTracks(searches);
+                var convertedCount = 0;
+                for (int i = 0; i < results.size(); i++) {
+                    if (results.get(i).isPresent()) {
+                        converted.set(searchIndices.get(i), results.get(i));
+                        convertedCount++;
+                    } else {
+                        unresolved.add(searchIndices.get(i));
+                    }
+                }
+
+                LOGGER.debug("Converted {} of {} tracks with candidate #{}", convertedCount, searches.size(), round + 1);
+            }
+
+            remaining = unresolved;
+        }
+
+        return converted;
+    }
+
+    /**
+     * Converts the tracks that have a candidate with an ISRC. The first ISRC of every track is resolved in one bulk
+     * lookup, then the next ISRC of every track still unresolved, until each track is converted or out of ISRCs. So
+     * like {@link #convertTrack(List)}, a track is converted to the match of its first candidate whose ISRC has one,
+     * and the ISRCs of its later candidates aren't resolved.
+     *
+     * @param trackCandidates The candidates of each track to convert
+     * @param converted       The converted track of each candidate list, to set the tracks converted by ISRC in
+     * @return The indices of the candidate lists that weren't converted, in order
+     */
+    private List<Integer> convertTracksByIsrc(List<List<Track>> trackCandidates, List<Optional<Track>> converted) {
+        var candidateIsrcs = new ArrayList<List<String>>(trackCandidates.size());
+        var remaining = new ArrayList<Integer>();
+        for (int index = 0; index < trackCandidates.size(); index++) {
+            var trackIsrcs = trackCandidates.get(index).stream()
+                    .map(TidalMusicTypeConverter::getIsrc)
+                    .flatMap(Optional::stream)
+                    .distinct()
+                    .toList();
+
+            candidateIsrcs.add(trackIsrcs);
+            remaining.add(index);
+        }
+
+        var unresolved = new ArrayList<Integer>();
+        for (int round = 0; !remaining.isEmpty(); round++) {
+            var lookupIndices = new ArrayList<Integer>();
+            var isrcs = new LinkedHashSet<String>();
+
+            for (var index : remaining) {
+                var trackIsrcs = candidateIsrcs.get(index);
+                if (round >= trackIsrcs.size()) {
+                    unresolved.add(index);
+                    continue;
+                }
+
+                lookupIndices.add(index);
+                isrcs.add(trackIsrcs.get(round));
+            }
+
+            if (isrcs.isEmpty()) {
+                break;
+            }
+
+            var uniqueIsrcs = List.copyOf(isrcs);
+            var results = musicCache.resolveTracksByIsrc(uniqueIsrcs);
+
+            var tracksByIsrc = new HashMap<String, Track>();
+            for (int i = 0; i < uniqueIsrcs.size(); i++) {
+                var isrc = uniqueIsrcs.get(i);
+                results.get(i).ifPresent(track -> tracksByIsrc.put(isrc, track));
+            }
+
+            var stillRemaining = new ArrayList<Integer>();
+            for (var index : lookupIndices) {
+                var track = tracksByIsrc.get(candidateIsrcs.get(index).get(round));
+                if (track != null) {
+                    converted.set(index, Optional.of(track));
+                } else {
+                    stillRemaining.add(index);
+                }
+            }
+
+            LOGGER.debug("Converted {} of {} tracks with ISRC #{}", lookupIndices.size() - stillRemaining.size(), lookupIndices.size(), round + 1);
+
+            remaining = stillRemaining;
+        }
+
+        Collections.sort(unresolved);
+        LOGGER.debug("Converted {} of {} tracks by ISRC", trackCandidates.size() - unresolved.size(), trackCandidates.size());
+
+        return unresolved;
+    }
+
+    /**
+     * Gets the ISRC of a track, if it exposes one.
+     *
+     * @param track The track to get the ISRC of
+     * @return The track's ISRC, or empty if it doesn't have one
+     */
+    private static Optional<String> getIsrc(Track track) {
+        if (track instanceof TidalTrack tidalTrack) {
+            return Optional.ofNullable(TidalTrack.normalizeIsrc(tidalTrack.getIsrc()));
+        }
+
+        var getter = ISRC_GETTERS.get(track.getClass());
+        if (getter.isEmpty()) {
+            return Optional.empty();
+        }
+
+        try {
+            var isrc = getter.get().invoke(track);
+            if (isrc instanceof Optional<?> optionalIsrc) {
+                isrc = optionalIsrc.orElse(null);
+            }
+
+            return isrc instanceof String isrcString
+                    ? Optional.ofNullable(TidalTrack.normalizeIsrc(isrcString))
+                    : Optional.empty();
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            LOGGER.debug("Could not get the ISRC of {}", track.getClass().getName(), e);
+            return Optional.empty();
+        }
+    }
+
     @Override
     public Optional<Album> convertAlbum(List<Album> albums) {
         // Try all albums
@@ -1,10 +1,18 @@
 package dev.qilletni.lib.tidal.music.async;
 
+import dev.qilletni.lib.tidal.music.async.PrefetchingPageIterator.Page;
 import retrofit2.Call;
 import retrofit2.Callback;
 import retrofit2.Response;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
 
 public class AsyncHelper {
 
@@ -27,4 +35,132 @@ public class AsyncHelper {
         return completableFuture;
     }
 
+    /**
+     * Waits for a future to complete, rethrowing what it failed with rather than wrapping it in a
+     * {@link CompletionException}. This is used by blocking methods that delegate to an asynchronous one.
+     *
+     * @param future The future to wait for
+     * @return The result of the future
+     * @param <T> The type of the result
+     */
+    public static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+
+            throw e;
+        }
+    }
+
+    /**
+     * Applies an asynchronous function to each item, with no more than {@code maxInFlight} of them running at once. As
+     * soon as one completes, the next item is started, rather than waiting for a whole group to finish.
+     * <p>
+     * If any item fails, the returned future fails with it and no further items are started.
+     *
+     * @param items       The items to apply the function to
+     * @param maxInFlight The maximum number of futures that may be incomplete at once
+     * @param function    The function to apply to each item
+     * @return A future completed with the result of each item, in item order
+     * @param <I> The type of item
+     * @param <R> The type of result
+     */
+    public static <I, R> CompletableFuture<List<R>> mapConcurrently(List<I> items, int maxInFlight, Function<I, CompletableFuture<R>> function) {
+        if (items.isEmpty()) {
+            return CompletableFuture.completedFuture(Collections.emptyList());
+        }
+
+        var window = new SlidingWindow<>(items, function);
+        for (int i = 0; i < Math.min(Math.max(1, maxInFlight), items.size()); i++) {
+            window.startNext();
+        }
+
+        return window.result;
+    }
+
+    /**
+     * Follows a cursor-paginated resource to its end, collecting the items of every page. Pages are requested one after
+     * another, as each cursor comes from the page before it.
+     *
+     * @param pageFetcher Fetches the page for a given cursor. The first page is fetched with a {@code null} cursor
+     * @return A future completed with the items of all pages, in page order
+     * @param <T> The type of item in each page
+     */
+    public static <T> CompletableFuture<List<T>> collectPages(Function<String, CompletableFuture<Page<T>>> pageFetcher) {
+        return collectPages(pageFetcher, null, new ArrayList<>());
+    }
+
+    private static <T> CompletableFuture<List<T>> collectPages(Function<String, CompletableFuture<Page<T>>> pageFetcher, String cursor, List<T> items) {
+        return pageFetcher.apply(cursor).thenCompose(page -> {
+            items.addAll(page.items());
+
+            if (page.nextCursor() == null) {
+                return CompletableFuture.completedFuture(items);
+            }
+
+            return collectPages(pageFetcher, page.nextCursor(), items);
+        });
+    }
+
+    /**
+     * The state of a single {@link #mapConcurrently(List, int, Function)} call.
+     */
+    private static class SlidingWindow<I, R> {
+
+        private final List<I> items;
+        private final Function<I, CompletableFuture<R>> function;
+        private final AtomicReferenceArray<R> results;
+        private final AtomicInteger nextIndex = new AtomicInteger();
+        private final AtomicInteger remaining;
+        private final CompletableFuture<List<R>> result = new CompletableFuture<>();
+
+        private SlidingWindow(List<I> items, Function<I, CompletableFuture<R>> function) {
+            this.items = items;
+            this.function = function;
+            this.results = new AtomicReferenceArray<>(items.size());
+            this.remaining = new AtomicInteger(items.size());
+        }
+
+        private void startNext() {
+            var index = nextIndex.getAndIncrement();
+            if (index >= items.size() || result.isDone()) {
+                return;
+            }
+
+            CompletableFuture<R> future;
+            try {
+                future = function.apply(items.get(index));
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+                return;
+            }
+
+            future.whenComplete((value, throwable) -> {
+                if (throwable != null) {
+                    result.completeExceptionally(throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable);
+                    return;
+                }
+
+                results.set(index, value);
+
+                if (remaining.decrementAndGet() == 0) {
+                    var values = new ArrayList<R>(results.length());
+                    for (int i = 0; i < results.length(); i++) {
+                        values.add(results.get(i));
+                    }
+
+                    result.complete(values);
+                } else {
+                    startNext();
+                }
+            });
+        }
+    }
 }
@@ -0,0 +1,78 @@
+package dev.qilletni.lib.tidal.music.async;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * Iterates over the pages of a cursor-paginated resource. As soon as a page is handed to the caller, the next page
+ * starts being fetched in the background, so the caller may process page N while page N+1 is in flight.
+ * <p>
+ * Only the current and next page are held at once.
+ *
+ * @param <T> The type of item in each page
+ */
+public class PrefetchingPageIterator<T> implements Iterator<List<T>> {
+
+    private final Function<String, CompletableFuture<Page<T>>> pageFetcher;
+
+    private CompletableFuture<Page<T>> nextPage;
+
+    /**
+     * Creates a new {@link PrefetchingPageIterator}, and immediately starts fetching the first page.
+     *
+     * @param pageFetcher Asynchronously fetches the page for a given cursor. The first page is fetched with a
+     *                    {@code null} cursor
+     */
+    public PrefetchingPageIterator(Function<String, CompletableFuture<Page<T>>> pageFetcher) {
+        this.pageFetcher = pageFetcher;
+        this.nextPage = pageFetcher.apply(null);
+    }
+
+    @Override
+    public boolean hasNext() {
+        return nextPage != null;
+    }
+
+    @Override
+    public List<T> next() {
+        if (nextPage == null) {
+            throw new NoSuchElementException();
+        }
+
+        Page<T> page;
+        try {
+            page = nextPage.join();
+        } catch (CompletionException e) {
+            nextPage = null;
+
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+
+            throw e;
+        }
+
+        nextPage = page.nextCursor() != null ? pageFetcher.apply(page.nextCursor()) : null;
+
+        return page.items();
+    }
+
+    /**
+     * A single page of results.
+     *
+     * @param items      The items in the page
+     * @param nextCursor The cursor of the next page, or {@code null} if this is the last page
+     * @param <T> The type of item in the page
+     */
+    public record Page<T>(List<T> items, @Nullable String nextCursor) {
+        public static <T> Page<T> last(List<T> items) {
+            return new Page<>(items, null);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package dev.qilletni.lib.tidal.music.cache;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * A bounded, in-memory cache of resolved entities keyed by their ID. This sits in front of the database so that
+ * repeated lookups of hot IDs don't each open a new session.
+ * <p>
+ * Entries are evicted in least-recently-used order once {@code maxSize} is exceeded, and are treated as absent once
+ * they are older than the configured time-to-live.
+ * <p>
+ * The same instance of an entity is handed to every caller that gets it, so cached entities must never be modified.
+ * Anything that changes an entity's stored state should instead invalidate it, or put a new instance in its place.
+ *
+ * @param <V> The type of entity being cached
+ */
+public class EntityCache<V> {
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LinkedHashMap<String, Entry<V>> entries;
+
+    /**
+     * Creates a new {@link EntityCache}.
+     *
+     * @param maxSize The maximum number of entries to hold before evicting the least recently used
+     * @param ttl     How long an entry is valid for after being put in the cache
+     */
+    public EntityCache(int maxSize, Duration ttl) {
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75F, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry<V>> eldest) {
+                return size() > EntityCache.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * Gets a cached entity by its ID, if it is present and not expired.
+     *
+     * @param id The ID of the entity
+     * @return The cached entity, if found
+     */
+    public synchronized Optional<V> get(String id) {
+        var entry = entries.get(id);
+        if (entry == null) {
+            return Optional.empty();
+        }
+
+        if (entry.isExpired(System.nanoTime())) {
+            entries.remove(id);
+            return Optional.empty();
+        }
+
+        return Optional.of(entry.value());
+    }
+
+    /**
+     * Gets all cached, non-expired entities with the given IDs.
+     *
+     * @param ids The IDs to look up
+     * @return A map of the found IDs and their entities
+     */
+    public synchronized Map<String, V> getAll(Collection<String> ids) {
+        var now = System.nanoTime();
+        var found = new HashMap<String, V>();
+
+        for (var id : ids) {
+            var entry = entries.get(id);
+            if (entry == null) {
+                continue;
+            }
+
+            if (entry.isExpired(now)) {
+                entries.remove(id);
+            } else {
+                found.put(id, entry.value());
+            }
+        }
+
+        return found;
+    }
+
+    /**
+     * Puts an entity in the cache, replacing any existing entry with the same ID.
+     *
+     * @param id    The ID of the entity
+     * @param value The entity
+     */
+    public synchronized void put(String id, V value) {
+        if (maxSize <= 0) {
+            return;
+        }
+
+        entries.put(id, new Entry<>(value, System.nanoTime() + ttlNanos));
+    }
+
+    /**
+     * Removes an entity from the cache.
+     *
+     * @param id The ID of the entity to remove
+     */
+    public synchronized void invalidate(String id) {
+        entries.remove(id);
+    }
+
+    private record Entry<V>(V value, long expiresAtNanos) {
+        boolean isExpired(long now) {
+            return now - expiresAtNanos > 0;
+        }
+    }
+}
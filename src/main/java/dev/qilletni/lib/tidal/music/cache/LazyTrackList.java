@@ -0,0 +1,263 @@
+package dev.qilletni.lib.tidal.music.cache;
+
+import dev.qilletni.api.music.Track;
+import dev.qilletni.lib.tidal.music.async.AsyncHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+/**
+ * An unmodifiable list of tracks that holds only their IDs until they are accessed. Tracks are loaded a page at a
+ * time, the first time any track in the page is accessed, so reading the first few tracks of a long playlist doesn't
+ * load the rest. Whenever a page is accessed, the page after it is loaded in the background, so a list read in order
+ * rarely waits on a load. Loaded pages are kept for the life of the list.
+ * <p>
+ * Tracks that can't be loaded, such as ones removed from the catalog, are left out of their page when it loads. Until
+ * a page is loaded, every one of its IDs is counted, so the list's size can shrink as it's read, and the index of a
+ * track can move down as the pages before it load. Reading the list in order with its iterator is never affected.
+ * <p>
+ * This is safe to read from multiple threads, and each page is only loaded once at a time. If a load fails, the
+ * accessing thread gets its exception, and the page is loaded again the next time it's accessed.
+ */
+public class LazyTrackList extends AbstractList<Track> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LazyTrackList.class);
+
+    public static final int DEFAULT_PAGE_SIZE = 100;
+
+    private final List<String> trackIds;
+    private final int pageSize;
+    private final Function<List<String>, Map<String, ? extends Track>> pageLoader;
+    private final Executor readAheadExecutor;
+    private final AtomicReferenceArray<CompletableFuture<List<Track>>> pages;
+
+    /**
+     * Creates a new {@link LazyTrackList}.
+     *
+     * @param trackIds          The IDs of the tracks in the list, in order
+     * @param pageSize          The number of tracks to load at a time
+     * @param pageLoader        Loads the tracks of the given IDs, keyed by ID. IDs without a track are left out
+     * @param readAheadExecutor Runs the background loads of the page after each one accessed
+     */
+    public LazyTrackList(List<String> trackIds, int pageSize, Function<List<String>, Map<String, ? extends Track>> pageLoader, Executor readAheadExecutor) {
+        this.trackIds = List.copyOf(trackIds);
+        this.pageSize = Math.max(1, pageSize);
+        this.pageLoader = pageLoader;
+        this.readAheadExecutor = readAheadExecutor;
+        this.pages = new AtomicReferenceArray<>((this.trackIds.size() + this.pageSize - 1) / this.pageSize);
+    }
+
+    @Override
+    public Track get(int index) {
+        Objects.checkIndex(index, size());
+
+        var track = find(index);
+        if (track == null) {
+            // The tracks that would have been at the index couldn't be loaded
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size());
+        }
+
+        return track;
+    }
+
+    @Override
+    public int size() {
+        var size = 0;
+        for (int pageIndex = 0; pageIndex < pages.length(); pageIndex++) {
+            size += countTracks(pageIndex);
+        }
+
+        return size;
+    }
+
+    @Override
+    public Iterator<Track> iterator() {
+        // Iterates by page, rather than by index, so it doesn't count through every page before each track
+        return new Iterator<>() {
+
+            private int pageIndex;
+            private int trackIndex;
+
+            @Override
+            public boolean hasNext() {
+                while (pageIndex < pages.length()) {
+                    if (trackIndex < loadPageForRead(pageIndex).size()) {
+                        return true;
+                    }
+
+                    pageIndex++;
+                    trackIndex = 0;
+                }
+
+                return false;
+            }
+
+            @Override
+            public Track next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+
+                return loadPageForRead(pageIndex).get(trackIndex++);
+            }
+        };
+    }
+
+    @Override
+    public Spliterator<Track> spliterator() {
+        // The size isn't known until every page is loaded, so it isn't reported
+        return Spliterators.spliteratorUnknownSize(iterator(), Spliterator.ORDERED);
+    }
+
+    /**
+     * Gets the IDs of the tracks in the list, without loading any of them. This includes any tracks that couldn't be
+     * loaded.
+     *
+     * @return The IDs of the tracks, in order
+     */
+    public List<String> getTrackIds() {
+        return trackIds;
+    }
+
+    /**
+     * Finds the track at an index, loading pages until it's found. As tracks that can't be loaded are left out, the
+     * index is counted across loaded pages by the tracks they hold, and across the rest by their IDs.
+     *
+     * @return The track at the index, or {@code null} if the list is shorter than that once its pages are loaded
+     */
+    private Track find(int index) {
+        var pageIndex = 0;
+        while (pageIndex < pages.length()) {
+            var trackCount = countTracks(pageIndex);
+            if (index >= trackCount) {
+                index -= trackCount;
+                pageIndex++;
+                continue;
+            }
+
+            var page = loadPageForRead(pageIndex);
+            if (index < page.size()) {
+                return page.get(index);
+            }
+
+            // Some of the page's tracks couldn't be loaded, so the index is further on
+            index -= page.size();
+            pageIndex++;
+        }
+
+        return null;
+    }
+
+    /**
+     * Gets a page that's being read, waiting for it to load, and starting on the page after it in the background.
+     */
+    private List<Track> loadPageForRead(int pageIndex) {
+        // Start on the next page first, so it loads alongside this one if this one isn't loaded yet
+        readAhead(pageIndex + 1);
+
+        return AsyncHelper.join(getPage(pageIndex));
+    }
+
+    /**
+     * Gets the number of tracks in a page, which is the number it holds if it's loaded, or the number of its IDs if not.
+     */
+    private int countTracks(int pageIndex) {
+        var page = pages.get(pageIndex);
+        if (page != null && page.isDone() && !page.isCompletedExceptionally()) {
+            return page.join().size();
+        }
+
+        var start = pageIndex * pageSize;
+        return Math.min(start + pageSize, trackIds.size()) - start;
+    }
+
+    /**
+     * Gets a page, loading it on this thread if it isn't loaded or being loaded already.
+     */
+    private CompletableFuture<List<Track>> getPage(int pageIndex) {
+        while (true) {
+            var page = pages.get(pageIndex);
+            if (page != null) {
+                return page;
+            }
+
+            var newPage = new CompletableFuture<List<Track>>();
+            if (pages.compareAndSet(pageIndex, null, newPage)) {
+                loadPage(pageIndex, newPage);
+                return newPage;
+            }
+
+            // Another thread started loading the page first, but its load may have failed and cleared it already
+        }
+    }
+
+    /**
+     * Starts loading a page in the background, if it exists and isn't loaded or being loaded already.
+     */
+    private void readAhead(int pageIndex) {
+        if (pageIndex >= pages.length() || pages.get(pageIndex) != null) {
+            return;
+        }
+
+        var newPage = new CompletableFuture<List<Track>>();
+        if (!pages.compareAndSet(pageIndex, null, newPage)) {
+            return;
+        }
+
+        try {
+            readAheadExecutor.execute(() -> loadPage(pageIndex, newPage));
+        } catch (RejectedExecutionException e) {
+            // Leave the page to be loaded when it's accessed
+            pages.compareAndSet(pageIndex, newPage, null);
+            newPage.completeExceptionally(e);
+        }
+    }
+
+    private void loadPage(int pageIndex, CompletableFuture<List<Track>> page) {
+        try {
+            page.complete(loadTracks(pageIndex));
+        } catch (RuntimeException e) {
+            LOGGER.debug("Could not load page {} of {} tracks", pageIndex, trackIds.size(), e);
+            pages.compareAndSet(pageIndex, page, null);
+            page.completeExceptionally(e);
+        }
+    }
+
+    private List<Track> loadTracks(int pageIndex) {
+        var start = pageIndex * pageSize;
+        var pageIds = trackIds.subList(start, Math.min(start + pageSize, trackIds.size()));
+        var loadedTracks = pageLoader.apply(pageIds);
+
+        var page = new ArrayList<Track>(pageIds.size());
+        var missingIds = new ArrayList<String>();
+        for (var id : pageIds) {
+            var track = loadedTracks.get(id);
+            if (track != null) {
+                page.add(track);
+            } else {
+                missingIds.add(id);
+            }
+        }
+
+        if (!missingIds.isEmpty()) {
+            LOGGER.warn("Skipping {} tracks in page {} that could not be loaded: {}", missingIds.size(), pageIndex, missingIds);
+        }
+
+        return Collections.unmodifiableList(page);
+    }
+}
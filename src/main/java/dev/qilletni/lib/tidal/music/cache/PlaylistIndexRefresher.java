@@ -0,0 +1,198 @@
+package dev.qilletni.lib.tidal.music.cache;
+
+import dev.qilletni.lib.tidal.music.entities.TidalPlaylistIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Refreshes the track indexes of playlists in the background, so that an expired index can still be served while it
+ * is refreshed rather than making the caller wait on it. Playlists whose tracks have been read are also watched, and
+ * refreshed shortly before their index expires.
+ * <p>
+ * An index expires after its playlist's configured TTL, if it has one, and otherwise after the default TTL. Only the
+ * {@link #MAX_WATCHED_PLAYLISTS} most recently read playlists are watched, and a playlist that hasn't been read for a
+ * whole TTL stops being watched.
+ */
+public class PlaylistIndexRefresher {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PlaylistIndexRefresher.class);
+
+    public static final Duration DEFAULT_TTL = Duration.ofDays(7);
+
+    /**
+     * The most playlists that are watched at once. The least recently read are dropped first.
+     */
+    static final int MAX_WATCHED_PLAYLISTS = 1_000;
+
+    /**
+     * How often watched playlists are checked for indexes that are about to expire.
+     */
+    private static final Duration SCAN_INTERVAL = Duration.ofMinutes(15);
+
+    /**
+     * An index is refreshed ahead of expiring once less than its TTL divided by this is left.
+     */
+    private static final int REFRESH_AHEAD_DIVISOR = 10;
+
+    private final Duration defaultTtl;
+    private final Map<String, Duration> ttlOverrides;
+    private final Consumer<String> refreshAction;
+
+    /**
+     * The watched playlists, keyed by ID, in the order they were last read.
+     */
+    private final Map<String, WatchedPlaylist> watchedPlaylists = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, WatchedPlaylist> eldest) {
+            return size() > MAX_WATCHED_PLAYLISTS;
+        }
+    };
+
+    private final Set<String> refreshingPlaylists = ConcurrentHashMap.newKeySet();
+
+    private final ExecutorService refreshExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("tidal-playlist-index-refresher").daemon().factory());
+
+    /**
+     * Creates a new {@link PlaylistIndexRefresher}, and starts checking for indexes that are about to expire.
+     *
+     * @param defaultTtl    How long an index lasts, for playlists without their own TTL
+     * @param ttlOverrides  How long the index of each playlist with its own TTL lasts, keyed by playlist ID
+     * @param refreshAction Refetches and stores the index of the playlist with the given ID. This is run on a
+     *                      background thread
+     */
+    public PlaylistIndexRefresher(Duration defaultTtl, Map<String, Duration> ttlOverrides, Consumer<String> refreshAction) {
+        this.defaultTtl = defaultTtl;
+        this.ttlOverrides = Map.copyOf(ttlOverrides);
+        this.refreshAction = refreshAction;
+
+        var scanMillis = SCAN_INTERVAL.toMillis();
+        scheduler.scheduleWithFixedDelay(this::refreshExpiring, scanMillis, scanMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Gets when a playlist's index expires.
+     *
+     * @param playlistId    The ID of the playlist
+     * @param playlistIndex The playlist's current index
+     * @return When its index expires
+     */
+    public Instant getExpiry(String playlistId, TidalPlaylistIndex playlistIndex) {
+        return getExpiry(playlistId, playlistIndex.getLastUpdatedIndex().toInstant());
+    }
+
+    /**
+     * Checks if a playlist's index has expired, meaning it should be refreshed.
+     *
+     * @param playlistId    The ID of the playlist
+     * @param playlistIndex The playlist's current index
+     * @return If its index has expired
+     */
+    public boolean isExpired(String playlistId, TidalPlaylistIndex playlistIndex) {
+        return Instant.now().isAfter(getExpiry(playlistId, playlistIndex));
+    }
+
+    /**
+     * Watches a playlist, so its index is refreshed before it expires. Watching a playlist that is already watched
+     * updates when its index was last updated, and marks it as just read.
+     *
+     * @param playlistId    The ID of the playlist to watch
+     * @param playlistIndex The playlist's current index
+     */
+    public void watch(String playlistId, TidalPlaylistIndex playlistIndex) {
+        var watchedPlaylist = new WatchedPlaylist(playlistIndex.getLastUpdatedIndex().toInstant(), Instant.now());
+
+        synchronized (watchedPlaylists) {
+            watchedPlaylists.put(playlistId, watchedPlaylist);
+        }
+    }
+
+    /**
+     * Refreshes a playlist's index on a background thread. This does nothing if the playlist is already being
+     * refreshed in the background.
+     *
+     * @param playlistId The ID of the playlist to refresh
+     */
+    public void refreshInBackground(String playlistId) {
+        if (!refreshingPlaylists.add(playlistId)) {
+            return;
+        }
+
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    LOGGER.debug("Refreshing index of playlist {} in the background", playlistId);
+                    refreshAction.accept(playlistId);
+
+                    // Not looked up again, as when the refreshed index was stored is close enough to when it was updated
+                    synchronized (watchedPlaylists) {
+                        watchedPlaylists.computeIfPresent(playlistId, (id, watchedPlaylist) -> new WatchedPlaylist(Instant.now(), watchedPlaylist.lastRead()));
+                    }
+                } catch (RuntimeException e) {
+                    LOGGER.warn("Could not refresh index of playlist {}", playlistId, e);
+                } finally {
+                    refreshingPlaylists.remove(playlistId);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Shut down, so the stale index will be refreshed on a later run
+            refreshingPlaylists.remove(playlistId);
+        }
+    }
+
+    /**
+     * Stops refreshing indexes. Refreshes already in progress are left to finish.
+     */
+    public void shutdown() {
+        scheduler.shutdownNow();
+        refreshExecutor.shutdown();
+    }
+
+    private Duration getTtl(String playlistId) {
+        return ttlOverrides.getOrDefault(playlistId, defaultTtl);
+    }
+
+    private Instant getExpiry(String playlistId, Instant lastUpdatedIndex) {
+        return lastUpdatedIndex.plus(getTtl(playlistId));
+    }
+
+    private void refreshExpiring() {
+        var now = Instant.now();
+
+        Map<String, WatchedPlaylist> watching;
+        synchronized (watchedPlaylists) {
+            // Playlists that haven't been read for a whole TTL are no longer refreshed ahead of being read
+            watchedPlaylists.entrySet().removeIf(entry -> now.isAfter(entry.getValue().lastRead().plus(getTtl(entry.getKey()))));
+            watching = Map.copyOf(watchedPlaylists);
+        }
+
+        watching.forEach((playlistId, watchedPlaylist) -> {
+            var refreshAhead = getTtl(playlistId).dividedBy(REFRESH_AHEAD_DIVISOR);
+            if (now.isAfter(getExpiry(playlistId, watchedPlaylist.lastUpdatedIndex()).minus(refreshAhead))) {
+                refreshInBackground(playlistId);
+            }
+        });
+    }
+
+    /**
+     * A playlist whose index is refreshed before it expires.
+     *
+     * @param lastUpdatedIndex When the playlist's index was last updated
+     * @param lastRead         When the playlist's tracks were last read
+     */
+    private record WatchedPlaylist(Instant lastUpdatedIndex, Instant lastRead) {}
+}
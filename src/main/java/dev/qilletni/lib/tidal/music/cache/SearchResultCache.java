@@ -0,0 +1,238 @@
+package dev.qilletni.lib.tidal.music.cache;
+
+import dev.qilletni.api.music.MusicFetcher.TrackNameArtist;
+import dev.qilletni.lib.tidal.database.EntityQueries;
+import dev.qilletni.lib.tidal.database.EntityTransaction;
+import dev.qilletni.lib.tidal.music.entities.TidalSearchResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.text.Normalizer;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * A persistent cache of track search outcomes, keyed by the normalized title and artist searched for. This stores both
+ * matches, as the ID of the resolved track, and misses, where no search result was a good enough match. Misses expire
+ * after a configurable time, as the catalog may have changed.
+ */
+public class SearchResultCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SearchResultCache.class);
+
+    public static final Duration DEFAULT_NEGATIVE_TTL = Duration.ofDays(7);
+
+    private static final Pattern WHITESPACE_PATTERN = Pattern.compile("\\s+");
+
+    /**
+     * Inserts or replaces search outcomes bound as arrays. Searches that normalize to the same key are only written once,
+     * and rows are written in key order, so concurrent upserts of the same searches wait on each other rather than
+     * deadlocking.
+     */
+    private static final String UPSERT_SEARCH_RESULTS = """
+            INSERT INTO TidalSearchResult (queryKey, title, artist, trackId, resolvedAt)
+            SELECT DISTINCT ON (s.queryKey) s.queryKey, s.title, s.artist, s.trackId, ?::timestamp
+            FROM unnest(?::text[], ?::text[], ?::text[], ?::text[]) AS s (queryKey, title, artist, trackId)
+            ON CONFLICT (queryKey) DO UPDATE SET trackId = EXCLUDED.trackId, resolvedAt = EXCLUDED.resolvedAt""";
+
+    private final Duration negativeTtl;
+
+    public SearchResultCache() {
+        this(DEFAULT_NEGATIVE_TTL);
+    }
+
+    /**
+     * Creates a new {@link SearchResultCache}.
+     *
+     * @param negativeTtl How long a search with no match is remembered before it is searched again
+     */
+    public SearchResultCache(Duration negativeTtl) {
+        this.negativeTtl = negativeTtl;
+    }
+
+    /**
+     * Looks up the cached outcome of a search.
+     *
+     * @param title  The searched title
+     * @param artist The searched artist
+     * @return The cached outcome, or empty if the search hasn't been cached or its miss has expired
+     */
+    public Optional<CachedSearch> lookup(String title, String artist) {
+        var queryKey = createQueryKey(title, artist);
+
+        try (var entityTransaction = EntityTransaction.beginReadOnly()) {
+            var session = entityTransaction.getSession();
+
+            var searchResult = session.find(TidalSearchResult.class, queryKey);
+            if (searchResult == null) {
+                return Optional.empty();
+            }
+
+            var trackId = searchResult.getTrackId();
+            if (trackId.isEmpty() && searchResult.getResolvedAt().toInstant().plus(negativeTtl).isBefore(Instant.now())) {
+                LOGGER.debug("Cached search miss for ({}, {}) has expired", title, artist);
+                return Optional.empty();
+            }
+
+            return Optional.of(new CachedSearch(trackId));
+        }
+    }
+
+    /**
+     * Looks up the cached outcomes of many searches with a single query.
+     *
+     * @param queries The searched titles and artists
+     * @return The cached outcome of each search that has one. Searches that haven't been cached or whose miss has
+     *         expired are absent
+     */
+    public Map<TrackNameArtist, CachedSearch> lookupAll(Collection<TrackNameArtist> queries) {
+        var queryKeys = new HashMap<TrackNameArtist, String>();
+        for (var query : queries) {
+            queryKeys.put(query, createQueryKey(query.name(), query.artist()));
+        }
+
+        var searchResults = new HashMap<String, TidalSearchResult>();
+        if (!queryKeys.isEmpty()) {
+            try (var entityTransaction = EntityTransaction.beginReadOnly()) {
+                var session = entityTransaction.getSession();
+
+                for (var searchResult : EntityQueries.findAllById(session, TidalSearchResult.class, queryKeys.values())) {
+                    searchResults.put(searchResult.getQueryKey(), searchResult);
+                }
+            }
+        }
+
+        var now = Instant.now();
+        var cachedSearches = new HashMap<TrackNameArtist, CachedSearch>();
+        queryKeys.forEach((query, queryKey) -> {
+            var searchResult = searchResults.get(queryKey);
+            if (searchResult == null) {
+                return;
+            }
+
+            var trackId = searchResult.getTrackId();
+            if (trackId.isEmpty() && searchResult.getResolvedAt().toInstant().plus(negativeTtl).isBefore(now)) {
+                return;
+            }
+
+            cachedSearches.put(query, new CachedSearch(trackId));
+        });
+
+        return cachedSearches;
+    }
+
+    /**
+     * Records a search that resolved to a track.
+     *
+     * @param title   The searched title
+     * @param artist  The searched artist
+     * @param trackId The ID of the track the search resolved to
+     */
+    public void recordMatch(String title, String artist, String trackId) {
+        recordAll(Map.of(new TrackNameArtist(title, artist), Optional.of(trackId)));
+    }
+
+    /**
+     * Records a search that had no good enough match.
+     *
+     * @param title  The searched title
+     * @param artist The searched artist
+     */
+    public void recordMiss(String title, String artist) {
+        recordAll(Map.of(new TrackNameArtist(title, artist), Optional.empty()));
+    }
+
+    /**
+     * Records the outcomes of many searches in a single statement. Outcomes replace any already recorded for the same
+     * search, including one recorded by another transaction at the same time, rather than conflicting with it.
+     *
+     * @param outcomes The searched titles and artists, and the ID of the track each resolved to, or empty if it had no
+     *                 match
+     */
+    public void recordAll(Map<TrackNameArtist, Optional<String>> outcomes) {
+        if (outcomes.isEmpty()) {
+            return;
+        }
+
+        var now = Timestamp.from(Instant.now());
+
+        var queryKeys = new ArrayList<String>(outcomes.size());
+        var titles = new ArrayList<String>(outcomes.size());
+        var artists = new ArrayList<String>(outcomes.size());
+        var trackIds = new ArrayList<String>(outcomes.size());
+        outcomes.forEach((query, trackId) -> {
+            queryKeys.add(createQueryKey(query.name(), query.artist()));
+            titles.add(normalize(query.name()));
+            artists.add(normalize(query.artist()));
+            trackIds.add(trackId.orElse(null));
+        });
+
+        try (var entityTransaction = EntityTransaction.beginTransaction()) {
+            var session = entityTransaction.getSession();
+
+            session.flush();
+            session.doWork(connection -> {
+                try (var statement = connection.prepareStatement(UPSERT_SEARCH_RESULTS)) {
+                    statement.setTimestamp(1, now);
+                    statement.setArray(2, connection.createArrayOf("text", queryKeys.toArray()));
+                    statement.setArray(3, connection.createArrayOf("text", titles.toArray()));
+                    statement.setArray(4, connection.createArrayOf("text", artists.toArray()));
+                    statement.setArray(5, connection.createArrayOf("text", trackIds.toArray()));
+                    statement.executeUpdate();
+                }
+            });
+
+            entityTransaction.markSuccessful();
+        }
+    }
+
+    /**
+     * Normalizes a search term, so trivially different searches share a cache entry.
+     *
+     * @param term The term to normalize
+     * @return The normalized term
+     */
+    static String normalize(String term) {
+        var normalized = Normalizer.normalize(term, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        return WHITESPACE_PATTERN.matcher(normalized).replaceAll(" ").trim();
+    }
+
+    /**
+     * Creates the key of a search, which is a hash of its normalized title and artist. This keeps keys a fixed length
+     * regardless of how long the searched terms are.
+     *
+     * @param title  The searched title
+     * @param artist The searched artist
+     * @return The key of the search
+     */
+    static String createQueryKey(String title, String artist) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256");
+            digest.update(normalize(title).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(normalize(artist).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * The cached outcome of a search.
+     *
+     * @param trackId The ID of the track the search resolved to, or empty if it had no match
+     */
+    public record CachedSearch(Optional<String> trackId) {}
+}
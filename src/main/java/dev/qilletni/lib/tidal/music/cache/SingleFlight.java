@@ -0,0 +1,111 @@
+package dev.qilletni.lib.tidal.music.cache;
+
+import dev.qilletni.lib.tidal.music.async.AsyncHelper;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent loads of the same key, so that only the first caller for a key does the work and any caller
+ * asking for it while that is in progress waits for, and shares, its result. Once a load completes its key is
+ * forgotten, so results are never cached here. That is left to the database and {@link EntityCache}.
+ * <p>
+ * A loader must not load a key of the same {@link SingleFlight} that it is already loading, as it would wait on
+ * itself.
+ *
+ * @param <K> The type of key
+ * @param <V> The type of loaded value
+ */
+public class SingleFlight<K, V> {
+
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Loads a single key, or waits for the load already in progress for it. If the load fails, every caller waiting
+     * on it fails with the same exception.
+     *
+     * @param key    The key to load
+     * @param loader Loads the value of the key, if no load is in progress
+     * @return The loaded value
+     */
+    public V run(K key, Supplier<V> loader) {
+        var future = new CompletableFuture<V>();
+        var existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            return AsyncHelper.join(existing);
+        }
+
+        try {
+            var value = loader.get();
+            future.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    /**
+     * Loads many keys at once. Keys that are not already being loaded are given to the loader in a single call, and
+     * the rest are waited for after the loader returns, so overlapping bulk loads can never deadlock on each other.
+     *
+     * @param keys   The keys to load, which may contain duplicates
+     * @param loader Loads the values of the given keys. It should return a value for every key, as any caller
+     *               waiting on a key that is left out is given {@code null}
+     * @return A map of each key that has a value and its value
+     */
+    public Map<K, V> runAll(Collection<K> keys, Function<List<K>, Map<K, V>> loader) {
+        var owned = new LinkedHashMap<K, CompletableFuture<V>>();
+        var joined = new HashMap<K, CompletableFuture<V>>();
+
+        for (var key : new LinkedHashSet<>(keys)) {
+            var future = new CompletableFuture<V>();
+            var existing = inFlight.putIfAbsent(key, future);
+            if (existing != null) {
+                joined.put(key, existing);
+            } else {
+                owned.put(key, future);
+            }
+        }
+
+        var values = new HashMap<K, V>();
+
+        if (!owned.isEmpty()) {
+            try {
+                var loaded = loader.apply(List.copyOf(owned.keySet()));
+                owned.forEach((key, future) -> {
+                    var value = loaded.get(key);
+                    future.complete(value);
+
+                    if (value != null) {
+                        values.put(key, value);
+                    }
+                });
+            } catch (RuntimeException | Error e) {
+                owned.values().forEach(future -> future.completeExceptionally(e));
+                throw e;
+            } finally {
+                owned.forEach(inFlight::remove);
+            }
+        }
+
+        joined.forEach((key, future) -> {
+            var value = AsyncHelper.join(future);
+            if (value != null) {
+                values.put(key, value);
+            }
+        });
+
+        return values;
+    }
+}
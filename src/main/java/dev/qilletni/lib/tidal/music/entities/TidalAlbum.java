@@ -4,10 +4,14 @@ import dev.qilletni.api.auth.ServiceProvider;
 import dev.qilletni.api.music.Album;
 import dev.qilletni.api.music.Artist;
 import dev.qilletni.lib.tidal.music.provider.TidalServiceProvider;
+import org.hibernate.annotations.Type;
 
+import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.FetchType;
 import javax.persistence.Id;
+import javax.persistence.JoinColumn;
+import javax.persistence.JoinTable;
 import javax.persistence.ManyToMany;
 import javax.persistence.OrderColumn;
 import java.util.List;
@@ -21,12 +25,19 @@ public class TidalAlbum implements Album {
     private String id;
     private String name;
 
+    // Table and column names are explicit, as BulkTrackIngester writes them directly
     @ManyToMany(fetch = FetchType.EAGER)
+    @JoinTable(name = "TidalAlbum_TidalArtist", joinColumns = @JoinColumn(name = "TidalAlbum_id"), inverseJoinColumns = @JoinColumn(name = "artists_id"))
     @OrderColumn(name="artistOrder")
     private List<TidalArtist> artists;
 
-    @ManyToMany(fetch = FetchType.EAGER)
-    private List<TidalTrack> tracks;
+    /**
+     * The IDs of the album's tracks, in order, stored in a single array column. Tracks are only loaded when the list
+     * is read through the cache.
+     */
+    @Type(type = "dev.qilletni.lib.tidal.database.StringArrayType")
+    @Column(columnDefinition = "text[]")
+    private List<String> trackIds;
 
     public TidalAlbum() {}
 
@@ -56,12 +67,8 @@ public class TidalAlbum implements Album {
         return artists.stream().map(Artist.class::cast).toList();
     }
 
-    public List<TidalTrack> getTracks() {
-        return tracks;
-    }
-
-    public void setTracks(List<TidalTrack> tracks) {
-        this.tracks = tracks;
+    public List<String> getTrackIds() {
+        return trackIds != null ? trackIds : List.of();
     }
 
     @Override
@@ -88,7 +95,6 @@ public class TidalAlbum implements Album {
                 "id='" + id + '\'' +
                 ", name='" + name + '\'' +
                 ", artists=" + artists +
-                ", tracks=" + tracks +
                 '}';
     }
 }
@@ -9,7 +9,7 @@ import javax.persistence.Entity;
 import javax.persistence.FetchType;
 import javax.persistence.Id;
 import javax.persistence.ManyToOne;
-import java.sql.Date;
+import java.sql.Timestamp;
 import java.util.Collections;
 import java.util.Optional;
 
@@ -34,7 +34,7 @@ public class TidalPlaylist implements Playlist {
         this.title = title;
         this.creator = creator;
         this.trackCount = trackCount;
-        this.tidalPlaylistIndex = new TidalPlaylistIndex(Collections.emptyList(), new Date(0));
+        this.tidalPlaylistIndex = new TidalPlaylistIndex(Collections.emptyList(), new Timestamp(0));
     }
 
     @Override
@@ -66,10 +66,6 @@ public class TidalPlaylist implements Playlist {
         return tidalPlaylistIndex;
     }
 
-    public void setTidalPlaylistIndex(TidalPlaylistIndex tidalPlaylistIndex) {
-        this.tidalPlaylistIndex = tidalPlaylistIndex;
-    }
-
     @Override
     public String toString() {
         return "TidalPlaylist{" +
@@ -1,41 +1,46 @@
 package dev.qilletni.lib.tidal.music.entities;
 
+import org.hibernate.annotations.Type;
+
+import javax.persistence.Column;
 import javax.persistence.Embeddable;
-import javax.persistence.ManyToMany;
-import java.sql.Date;
+import java.sql.Timestamp;
 import java.util.List;
 
 /**
  * An embeddable entity that stores a cached index of tracks in a playlist.
  * This index is meant to be regularly updated and includes an expiration timestamp.
+ * <p>
+ * Only the IDs of the tracks are stored, in order, in a single array column.
  */
 @Embeddable
 public class TidalPlaylistIndex {
 
-    @ManyToMany
-    private List<TidalTrack> tracks;
+    @Type(type = "dev.qilletni.lib.tidal.database.StringArrayType")
+    @Column(columnDefinition = "text[]")
+    private List<String> trackIds;
 
-    private Date lastUpdatedIndex;
+    private Timestamp lastUpdatedIndex;
 
     public TidalPlaylistIndex() {}
 
-    public TidalPlaylistIndex(List<TidalTrack> tracks, Date lastUpdatedIndex) {
-        this.tracks = tracks;
+    public TidalPlaylistIndex(List<String> trackIds, Timestamp lastUpdatedIndex) {
+        this.trackIds = List.copyOf(trackIds);
         this.lastUpdatedIndex = lastUpdatedIndex;
     }
 
-    public List<TidalTrack> getTracks() {
-        return tracks;
+    public List<String> getTrackIds() {
+        return trackIds != null ? trackIds : List.of();
     }
 
-    public Date getLastUpdatedIndex() {
+    public Timestamp getLastUpdatedIndex() {
         return lastUpdatedIndex;
     }
 
     @Override
     public String toString() {
         return "TidalPlaylistIndex{" +
-                "tracks=" + tracks +
+                "trackIds=" + getTrackIds().size() +
                 ", lastUpdatedIndex=" + lastUpdatedIndex +
                 '}';
     }
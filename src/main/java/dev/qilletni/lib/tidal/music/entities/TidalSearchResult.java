@@ -0,0 +1,77 @@
+package dev.qilletni.lib.tidal.music.entities;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import java.sql.Timestamp;
+import java.util.Optional;
+
+/**
+ * A cached outcome of resolving a track search, keyed by the normalized title and artist that were searched for. A
+ * {@code null} track ID means the search found no match, which is only trusted until it expires.
+ */
+@Entity
+public class TidalSearchResult {
+
+    @Id
+    private String queryKey;
+
+    @Column(length = 1024)
+    private String title;
+
+    @Column(length = 1024)
+    private String artist;
+
+    private String trackId;
+
+    private Timestamp resolvedAt;
+
+    public TidalSearchResult() {}
+
+    public TidalSearchResult(String queryKey, String title, String artist, String trackId, Timestamp resolvedAt) {
+        this.queryKey = queryKey;
+        this.title = title;
+        this.artist = artist;
+        this.trackId = trackId;
+        this.resolvedAt = resolvedAt;
+    }
+
+    public String getQueryKey() {
+        return queryKey;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getArtist() {
+        return artist;
+    }
+
+    public Optional<String> getTrackId() {
+        return Optional.ofNullable(trackId);
+    }
+
+    public void setTrackId(String trackId) {
+        this.trackId = trackId;
+    }
+
+    public Timestamp getResolvedAt() {
+        return resolvedAt;
+    }
+
+    public void setResolvedAt(Timestamp resolvedAt) {
+        this.resolvedAt = resolvedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "TidalSearchResult{" +
+                "queryKey='" + queryKey + '\'' +
+                ", title='" + title + '\'' +
+                ", artist='" + artist + '\'' +
+                ", trackId='" + trackId + '\'' +
+                ", resolvedAt=" + resolvedAt +
+                '}';
+    }
+}
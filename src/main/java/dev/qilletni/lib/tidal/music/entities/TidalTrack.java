@@ -16,21 +16,32 @@ public class TidalTrack implements Track {
     private String id;
     private String name;
 
+    // Table and column names are explicit, as BulkTrackIngester writes them directly
     @ManyToMany(fetch = FetchType.EAGER)
+    @JoinTable(name = "TidalTrack_TidalArtist", joinColumns = @JoinColumn(name = "TidalTrack_id"), inverseJoinColumns = @JoinColumn(name = "artists_id"))
     @OrderColumn(name="artistOrder")
     private List<TidalArtist> artists;
 
     @ManyToOne(fetch = FetchType.EAGER)
+    @JoinColumn(name = "album_id")
     private TidalAlbum album;
 
     private int duration;
 
+    /**
+     * The track's International Standard Recording Code, which identifies the recording across services. Several tracks
+     * may share one, such as a song released on both a single and an album. This is null for tracks stored before it was
+     * recorded, until they are fetched again.
+     */
+    private String isrc;
+
     /**
      * This is a list of full track `<name> <artist>` combinations that may be searched for that the track resolves to,
      * when gotten from a search strategy.
      * TODO: Make these aliases expirable?
      */
     @ElementCollection(fetch = FetchType.LAZY)
+    @CollectionTable(name = "TidalTrack_searchAliases", joinColumns = @JoinColumn(name = "TidalTrack_id"))
     private List<TrackAlias> searchAliases;
 
     public TidalTrack() {}
@@ -40,11 +51,16 @@ public class TidalTrack implements Track {
     }
 
     public TidalTrack(String id, String name, List<TidalArtist> artists, TidalAlbum album, int duration, List<TrackAlias> searchAliases) {
+        this(id, name, artists, album, duration, null, searchAliases);
+    }
+
+    public TidalTrack(String id, String name, List<TidalArtist> artists, TidalAlbum album, int duration, String isrc, List<TrackAlias> searchAliases) {
         this.id = id;
         this.name = name;
         this.artists = artists;
         this.album = album;
         this.duration = duration;
+        this.isrc = normalizeIsrc(isrc);
         this.searchAliases = searchAliases;
     }
 
@@ -78,6 +94,28 @@ public class TidalTrack implements Track {
         return duration;
     }
 
+    public String getIsrc() {
+        return isrc;
+    }
+
+    public void setIsrc(String isrc) {
+        this.isrc = normalizeIsrc(isrc);
+    }
+
+    /**
+     * Normalizes an ISRC to how it's stored and looked up, as ISRCs may be given in either case.
+     *
+     * @param isrc The ISRC to normalize
+     * @return The ISRC stripped and in upper case, or {@code null} if it's {@code null} or blank
+     */
+    public static String normalizeIsrc(String isrc) {
+        if (isrc == null || isrc.isBlank()) {
+            return null;
+        }
+
+        return isrc.strip().toUpperCase(Locale.ROOT);
+    }
+
     public List<TrackAlias> getSearchAliases() {
         return Objects.requireNonNullElse(searchAliases, Collections.emptyList());
     }
@@ -117,6 +155,7 @@ public class TidalTrack implements Track {
                 ", artists=" + artists +
                 ", album=" + album +
                 ", duration=" + duration +
+                ", isrc='" + isrc + '\'' +
                 '}';
     }
 }
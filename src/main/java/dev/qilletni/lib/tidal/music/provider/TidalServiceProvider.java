@@ -17,16 +17,23 @@ import dev.qilletni.api.music.play.PlayActor;
 import dev.qilletni.api.music.strategies.MusicStrategies;
 import dev.qilletni.lib.tidal.api.TidalApiSingleton;
 import dev.qilletni.lib.tidal.api.oauth.TidalOAuthAuthorizer;
+import dev.qilletni.lib.tidal.api.request.TidalRequestExecutor;
+import dev.qilletni.lib.tidal.api.request.TokenBucketRateLimiter;
 import dev.qilletni.lib.tidal.database.HibernateUtil;
 import dev.qilletni.lib.tidal.music.TidalMusicCache;
 import dev.qilletni.lib.tidal.music.TidalMusicFetcher;
 import dev.qilletni.lib.tidal.music.TidalMusicTypeConverter;
+import dev.qilletni.lib.tidal.music.cache.PlaylistIndexRefresher;
+import dev.qilletni.lib.tidal.music.cache.SearchResultCache;
 import dev.qilletni.lib.tidal.music.strategies.TidalMusicStrategies;
 import dev.qilletni.lib.tidal.music.strategies.search.TidalFuzzySearchResolveStrategy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.BiFunction;
@@ -60,8 +67,21 @@ public class TidalServiceProvider implements ServiceProvider {
             TidalApiSingleton.setTidalApi(tidalApi);
 
             musicStrategies = new TidalMusicStrategies();
-            musicFetcher = new TidalMusicFetcher(musicStrategies, "US", tidalApi, authorizer.getCurrentUser().orElseThrow());
-            musicCache = new TidalMusicCache(musicFetcher);
+            var requestExecutor = new TidalRequestExecutor(
+                    new TokenBucketRateLimiter(
+                            getIntConfig("requestsPerSecond", (int) TidalRequestExecutor.DEFAULT_REQUESTS_PER_SECOND),
+                            getIntConfig("requestBurst", TidalRequestExecutor.DEFAULT_BURST)),
+                    getIntConfig("maxRequestRetries", TidalRequestExecutor.DEFAULT_MAX_RETRIES));
+
+            musicFetcher = new TidalMusicFetcher(musicStrategies, "US", tidalApi, authorizer.getCurrentUser().orElseThrow(), requestExecutor,
+                    getIntConfig("maxConcurrentRequests", TidalMusicFetcher.DEFAULT_MAX_CONCURRENT_REQUESTS));
+            musicCache = new TidalMusicCache(musicFetcher,
+                    getIntConfig("entityCacheSize", TidalMusicCache.DEFAULT_ENTITY_CACHE_SIZE),
+                    Duration.ofSeconds(getIntConfig("entityCacheTtlSeconds", (int) TidalMusicCache.DEFAULT_ENTITY_CACHE_TTL.toSeconds())),
+                    new SearchResultCache(Duration.ofHours(getIntConfig("searchMissTtlHours", (int) SearchResultCache.DEFAULT_NEGATIVE_TTL.toHours()))),
+                    getIntConfig("bulkIngestThreshold", TidalMusicCache.DEFAULT_BULK_INGEST_THRESHOLD),
+                    Duration.ofHours(getIntConfig("playlistIndexTtlHours", (int) PlaylistIndexRefresher.DEFAULT_TTL.toHours())),
+                    getHoursByIdConfig("playlistIndexTtlOverrides"));
             playActor = new DefaultRoutablePlayActor(new ConsolePlayActor());
             trackOrchestrator = defaultTrackOrchestratorFunction.apply(playActor, musicCache);
             musicTypeConverter = new TidalMusicTypeConverter(musicCache);
@@ -78,9 +98,19 @@ public class TidalServiceProvider implements ServiceProvider {
     public void shutdown() {
         authorizer.shutdown();
 
+        if (musicCache != null) {
+            musicCache.shutdown();
+        }
+
+        if (musicFetcher != null) {
+            musicFetcher.shutdown();
+        }
+
         if (TidalApiSingleton.getTidalApi() != null) {
             TidalApiSingleton.getTidalApi().shutdown();
         }
+
+        HibernateUtil.shutdown();
     }
 
     @Override
@@ -168,7 +198,59 @@ public class TidalServiceProvider implements ServiceProvider {
             packageConfig.saveConfig();
         }
 
-        HibernateUtil.initializeSessionFactory(packageConfig.getOrThrow("dbUrl"), packageConfig.getOrThrow("dbUsername"), packageConfig.getOrThrow("dbPassword"));
+        HibernateUtil.initializeSessionFactory(packageConfig.getOrThrow("dbUrl"), packageConfig.getOrThrow("dbUsername"), packageConfig.getOrThrow("dbPassword"),
+                getIntConfig("dbPoolSize", HibernateUtil.DEFAULT_POOL_SIZE), "true".equals(packageConfig.get("validateSchema").orElse("false")));
+    }
+
+    /**
+     * Gets an optional integer config value, falling back to a default if it is absent or malformed.
+     *
+     * @param key          The config key
+     * @param defaultValue The value to use if the key is not set
+     * @return The configured value, or the default
+     */
+    private int getIntConfig(String key, int defaultValue) {
+        return packageConfig.get(key).map(value -> {
+            try {
+                return Integer.parseInt(value.trim());
+            } catch (NumberFormatException e) {
+                LOGGER.warn("Invalid integer for config value '{}': {}, using default {}", key, value, defaultValue);
+                return defaultValue;
+            }
+        }).orElse(defaultValue);
+    }
+
+    /**
+     * Gets an optional config value of durations in hours for specific IDs, formatted as {@code id=hours} pairs
+     * separated by commas. Malformed pairs are skipped.
+     *
+     * @param key The config key
+     * @return The configured durations keyed by ID, which is empty if the key is not set
+     */
+    private Map<String, Duration> getHoursByIdConfig(String key) {
+        var hoursById = new HashMap<String, Duration>();
+
+        packageConfig.get(key).ifPresent(value -> {
+            for (var pair : value.split(",")) {
+                if (pair.isBlank()) {
+                    continue;
+                }
+
+                var parts = pair.split("=", 2);
+                if (parts.length == 2 && !parts[0].isBlank()) {
+                    try {
+                        hoursById.put(parts[0].trim(), Duration.ofHours(Integer.parseInt(parts[1].trim())));
+                        continue;
+                    } catch (NumberFormatException ignored) {
+                        // Logged below, the same as a pair without an ID
+                    }
+                }
+
+                LOGGER.warn("Invalid id=hours pair in config value '{}': {}, skipping it", key, pair);
+            }
+        });
+
+        return hoursById;
     }
 
     public static ServiceProvider getServiceProviderInstance() {
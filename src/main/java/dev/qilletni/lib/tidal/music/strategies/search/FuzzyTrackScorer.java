@@ -0,0 +1,277 @@
+package dev.qilletni.lib.tidal.music.strategies.search;
+
+import dev.qilletni.api.music.Artist;
+import dev.qilletni.api.music.Track;
+import org.apache.commons.text.similarity.JaroWinklerSimilarity;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Scores how well tracks match a title and artist query. The query is normalized once per {@link Query}, all patterns
+ * are precompiled, and normalized candidate titles and artist names are cached, as the same candidates come up across
+ * many searches.
+ */
+public class FuzzyTrackScorer {
+
+    private static final double TITLE_WEIGHT = 0.7;
+    private static final double ARTIST_WEIGHT = 0.3;
+    private static final double CORE_TITLE_BAIL_THRESHOLD = 0.7;
+    private static final double METADATA_PENALTY = 0.85;
+    private static final double METADATA_BLEND_CORE = 0.7;
+    private static final double METADATA_BLEND_META = 0.3;
+
+    private static final int NORMALIZED_CACHE_SIZE = 16_384;
+
+    /**
+     * Matches (Remix), [Live], etc. along with surrounding whitespace.
+     */
+    private static final Pattern BRACKETED_PATTERN = Pattern.compile("\\s*[(\\[][^)\\]]*[)\\]]\\s*");
+
+    /**
+     * Matches " - Remastered" type suffixes.
+     */
+    private static final Pattern DASH_SUFFIX_PATTERN = Pattern.compile("\\s*-\\s*.*$");
+
+    /**
+     * Finds if a title has any content in parentheses or brackets.
+     */
+    private static final Pattern HAS_METADATA_PATTERN = Pattern.compile("[(\\[].*[)\\]]");
+
+    /**
+     * Captures the content of each parenthetical or bracket.
+     */
+    private static final Pattern METADATA_CONTENT_PATTERN = Pattern.compile("[(\\[]([^)\\]]+)[)\\]]");
+
+    private final JaroWinklerSimilarity jaroWinkler = new JaroWinklerSimilarity();
+
+    private final Map<String, NormalizedTitle> normalizedTitles = createBoundedCache();
+    private final Map<String, String> normalizedArtists = createBoundedCache();
+
+    /**
+     * Normalizes a query, so it may be scored against many candidates.
+     *
+     * @param title  The queried title
+     * @param artist The queried artist
+     * @return The normalized query
+     */
+    public Query createQuery(String title, String artist) {
+        return new Query(normalizeTitle(title), normalize(artist));
+    }
+
+    /**
+     * Scores a track against a query.
+     *
+     * @param query The normalized query
+     * @param track The candidate track
+     * @return The title, artist, and combined scores of the track
+     */
+    public Score score(Query query, Track track) {
+        var titleScore = calculateTitleScore(query.title(), getNormalizedTitle(track.getName()));
+        var artistScore = calculateArtistScore(query.artist(), track);
+
+        return new Score(titleScore, artistScore, combineScores(titleScore, artistScore));
+    }
+
+    /**
+     * Calculates title score with asymmetric metadata handling.
+     * If the query specifies metadata (e.g., "Song (Remix)"), tracks without matching metadata are penalized.
+     */
+    private double calculateTitleScore(NormalizedTitle queryTitle, NormalizedTitle trackTitle) {
+        // Base score on core title match
+        double coreScore = jaroWinkler.apply(queryTitle.core(), trackTitle.core());
+
+        // If core doesn't match well, bail early
+        if (coreScore < CORE_TITLE_BAIL_THRESHOLD) {
+            return coreScore;
+        }
+
+        if (!queryTitle.hasMetadata()) {
+            // User didn't specify version → accept any version
+            // "Song" query matches "Song", "Song (Remix)", "Song [Live]" equally
+            return coreScore;
+        }
+
+        if (!trackTitle.hasMetadataContent()) {
+            // Query: "Song (Remix)", Track: "Song" (original)
+            // Penalize: user wanted a specific version
+            return coreScore * METADATA_PENALTY;
+        }
+
+        // Both have metadata → compare them
+        double metadataScore = jaroWinkler.apply(queryTitle.metadata(), trackTitle.metadata());
+
+        // Blend core score with metadata match
+        return coreScore * METADATA_BLEND_CORE + metadataScore * METADATA_BLEND_META;
+    }
+
+    /**
+     * Calculates the best artist match score by comparing against all artists in the track.
+     */
+    private double calculateArtistScore(String queryArtist, Track track) {
+        double bestScore = 0.0;
+
+        for (Artist artist : track.getArtists()) {
+            var name = artist.getName();
+            if (name == null) {
+                continue;
+            }
+
+            bestScore = Math.max(bestScore, jaroWinkler.apply(queryArtist, getNormalizedArtist(name)));
+        }
+
+        return bestScore;
+    }
+
+    /**
+     * Calculates the final match score using weighted harmonic mean.
+     * Both title and artist must have reasonable scores for a high final score.
+     */
+    private double combineScores(double titleScore, double artistScore) {
+        // Avoid division by zero
+        if (titleScore == 0 || artistScore == 0) {
+            return 0.0;
+        }
+
+        // Harmonic mean: both dimensions must be good
+        return 1.0 / ((TITLE_WEIGHT / titleScore) + (ARTIST_WEIGHT / artistScore));
+    }
+
+    private NormalizedTitle getNormalizedTitle(String title) {
+        synchronized (normalizedTitles) {
+            return normalizedTitles.computeIfAbsent(title, FuzzyTrackScorer::normalizeTitle);
+        }
+    }
+
+    private String getNormalizedArtist(String artist) {
+        synchronized (normalizedArtists) {
+            return normalizedArtists.computeIfAbsent(artist, FuzzyTrackScorer::normalize);
+        }
+    }
+
+    /**
+     * Splits a title into its normalized core and metadata.
+     */
+    static NormalizedTitle normalizeTitle(String title) {
+        var metadata = extractMetadata(title);
+
+        return new NormalizedTitle(
+                extractCoreTitle(title),
+                HAS_METADATA_PATTERN.matcher(title).find(),
+                !metadata.isEmpty(),
+                normalize(metadata));
+    }
+
+    /**
+     * Extracts the core title by removing parentheticals, brackets, and trailing metadata.
+     */
+    private static String extractCoreTitle(String title) {
+        var core = BRACKETED_PATTERN.matcher(title).replaceAll(" ");
+        core = DASH_SUFFIX_PATTERN.matcher(core).replaceFirst("");
+
+        return normalize(core);
+    }
+
+    /**
+     * Extracts metadata content from parentheses and brackets.
+     */
+    private static String extractMetadata(String title) {
+        var matcher = METADATA_CONTENT_PATTERN.matcher(title);
+
+        StringBuilder metadata = null;
+        while (matcher.find()) {
+            if (metadata == null) {
+                metadata = new StringBuilder();
+            } else {
+                metadata.append(' ');
+            }
+
+            metadata.append(title, matcher.start(1), matcher.end(1));
+        }
+
+        return metadata == null ? "" : metadata.toString();
+    }
+
+    /**
+     * Normalizes a string by converting to lowercase, removing a "The" prefix, replacing anything other than ASCII
+     * letters and digits with spaces, and collapsing whitespace. This is done in a single pass rather than with
+     * several regex replacements.
+     */
+    static String normalize(String s) {
+        var lower = s.toLowerCase();
+        var length = lower.length();
+
+        // Remove "The" prefix
+        var start = 0;
+        if (lower.startsWith("the") && length > 3 && isRegexWhitespace(lower.charAt(3))) {
+            start = 4;
+            while (start < length && isRegexWhitespace(lower.charAt(start))) {
+                start++;
+            }
+        }
+
+        var normalized = new StringBuilder(length - start);
+        var pendingSpace = false;
+
+        for (int i = start; i < length; i++) {
+            var c = lower.charAt(i);
+
+            if ((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')) {
+                if (pendingSpace && !normalized.isEmpty()) {
+                    normalized.append(' ');
+                }
+
+                normalized.append(c);
+                pendingSpace = false;
+            } else {
+                pendingSpace = true;
+            }
+        }
+
+        return normalized.toString();
+    }
+
+    /**
+     * Checks if a character matches {@code \s} in a non-Unicode regex.
+     */
+    private static boolean isRegexWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    private static <V> Map<String, V> createBoundedCache() {
+        return new LinkedHashMap<>(256, 0.75F, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+                return size() > NORMALIZED_CACHE_SIZE;
+            }
+        };
+    }
+
+    /**
+     * A title split into its normalized parts.
+     *
+     * @param core               The normalized title, without any metadata
+     * @param hasMetadata        If the title has any parentheses or brackets
+     * @param hasMetadataContent If the title has any non-empty content in parentheses or brackets
+     * @param metadata           The normalized content of all parentheses and brackets
+     */
+    public record NormalizedTitle(String core, boolean hasMetadata, boolean hasMetadataContent, String metadata) {}
+
+    /**
+     * A normalized query, created with {@link #createQuery(String, String)}.
+     *
+     * @param title  The normalized title
+     * @param artist The normalized artist
+     */
+    public record Query(NormalizedTitle title, String artist) {}
+
+    /**
+     * The scores of a single candidate.
+     *
+     * @param titleScore  How well the title matched
+     * @param artistScore How well the best matching artist matched
+     * @param score       The combined score
+     */
+    public record Score(double titleScore, double artistScore, double score) {}
+}
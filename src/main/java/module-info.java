@@ -18,6 +18,8 @@ module qilletni.lib.tidal.main {
     requires org.slf4j;
     requires org.apache.commons.text;
     requires java.transaction;
+    requires com.zaxxer.hikari;
+    requires org.postgresql.jdbc;
 
     provides dev.qilletni.api.auth.ServiceProvider
             with TidalServiceProvider;
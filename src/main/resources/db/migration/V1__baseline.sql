@@ -0,0 +1,87 @@
+-- The schema as Hibernate created it before migrations were introduced. Every statement is conditional, so this can be
+-- applied to a database that Hibernate's schema update already created, recording it as the baseline.
+
+CREATE TABLE IF NOT EXISTS TidalArtist (
+    id varchar(255) NOT NULL,
+    name varchar(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS TidalUser (
+    id varchar(255) NOT NULL,
+    name varchar(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS TidalAlbum (
+    id varchar(255) NOT NULL,
+    name varchar(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS TidalTrack (
+    id varchar(255) NOT NULL,
+    name varchar(255),
+    duration int4 NOT NULL,
+    album_id varchar(255),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_tidaltrack_album FOREIGN KEY (album_id) REFERENCES TidalAlbum
+);
+
+CREATE TABLE IF NOT EXISTS TidalAlbum_TidalArtist (
+    TidalAlbum_id varchar(255) NOT NULL,
+    artists_id varchar(255) NOT NULL,
+    artistOrder int4 NOT NULL,
+    PRIMARY KEY (TidalAlbum_id, artistOrder),
+    CONSTRAINT fk_tidalalbum_tidalartist_album FOREIGN KEY (TidalAlbum_id) REFERENCES TidalAlbum,
+    CONSTRAINT fk_tidalalbum_tidalartist_artist FOREIGN KEY (artists_id) REFERENCES TidalArtist
+);
+
+CREATE TABLE IF NOT EXISTS TidalAlbum_TidalTrack (
+    TidalAlbum_id varchar(255) NOT NULL,
+    tracks_id varchar(255) NOT NULL,
+    CONSTRAINT fk_tidalalbum_tidaltrack_album FOREIGN KEY (TidalAlbum_id) REFERENCES TidalAlbum,
+    CONSTRAINT fk_tidalalbum_tidaltrack_track FOREIGN KEY (tracks_id) REFERENCES TidalTrack
+);
+
+CREATE TABLE IF NOT EXISTS TidalTrack_TidalArtist (
+    TidalTrack_id varchar(255) NOT NULL,
+    artists_id varchar(255) NOT NULL,
+    artistOrder int4 NOT NULL,
+    PRIMARY KEY (TidalTrack_id, artistOrder),
+    CONSTRAINT fk_tidaltrack_tidalartist_track FOREIGN KEY (TidalTrack_id) REFERENCES TidalTrack,
+    CONSTRAINT fk_tidaltrack_tidalartist_artist FOREIGN KEY (artists_id) REFERENCES TidalArtist
+);
+
+CREATE TABLE IF NOT EXISTS TidalTrack_searchAliases (
+    TidalTrack_id varchar(255) NOT NULL,
+    title varchar(255),
+    artist varchar(255),
+    CONSTRAINT fk_tidaltrack_searchaliases_track FOREIGN KEY (TidalTrack_id) REFERENCES TidalTrack
+);
+
+CREATE TABLE IF NOT EXISTS TidalPlaylist (
+    id varchar(255) NOT NULL,
+    title varchar(255),
+    trackCount int4 NOT NULL,
+    creator_id varchar(255),
+    lastUpdatedIndex date,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_tidalplaylist_creator FOREIGN KEY (creator_id) REFERENCES TidalUser
+);
+
+CREATE TABLE IF NOT EXISTS TidalPlaylist_TidalTrack (
+    TidalPlaylist_id varchar(255) NOT NULL,
+    tracks_id varchar(255) NOT NULL,
+    CONSTRAINT fk_tidalplaylist_tidaltrack_playlist FOREIGN KEY (TidalPlaylist_id) REFERENCES TidalPlaylist,
+    CONSTRAINT fk_tidalplaylist_tidaltrack_track FOREIGN KEY (tracks_id) REFERENCES TidalTrack
+);
+
+CREATE TABLE IF NOT EXISTS TidalSearchResult (
+    queryKey varchar(255) NOT NULL,
+    title varchar(1024),
+    artist varchar(1024),
+    trackId varchar(255),
+    resolvedAt timestamp,
+    PRIMARY KEY (queryKey)
+);
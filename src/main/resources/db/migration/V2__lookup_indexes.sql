@@ -0,0 +1,19 @@
+-- Indexes for the cache's lookups by name, which are otherwise sequential scans.
+
+-- Track lookups by name, then filtered by artist through the join table's primary key
+CREATE INDEX IF NOT EXISTS idx_tidaltrack_name ON TidalTrack (name);
+CREATE INDEX IF NOT EXISTS idx_tidaltrack_tidalartist_artist ON TidalTrack_TidalArtist (artists_id);
+
+-- Alias lookups match title and artist together, and aliases are loaded by track
+CREATE INDEX IF NOT EXISTS idx_tidaltrack_searchaliases_title_artist ON TidalTrack_searchAliases (title, artist);
+CREATE INDEX IF NOT EXISTS idx_tidaltrack_searchaliases_track ON TidalTrack_searchAliases (TidalTrack_id);
+
+-- Artist lookups try an exact name first, then a case-insensitive one
+CREATE INDEX IF NOT EXISTS idx_tidalartist_name ON TidalArtist (name);
+CREATE INDEX IF NOT EXISTS idx_tidalartist_name_lower ON TidalArtist (lower(name));
+
+CREATE INDEX IF NOT EXISTS idx_tidalalbum_name ON TidalAlbum (name);
+CREATE INDEX IF NOT EXISTS idx_tidalalbum_tidalartist_artist ON TidalAlbum_TidalArtist (artists_id);
+
+CREATE INDEX IF NOT EXISTS idx_tidalplaylist_title ON TidalPlaylist (title);
+CREATE INDEX IF NOT EXISTS idx_tidaluser_name ON TidalUser (name);
@@ -0,0 +1,3 @@
+-- Playlist indexes can expire in less than a day, so keep the time they were updated rather than only the date.
+
+ALTER TABLE TidalPlaylist ALTER COLUMN lastUpdatedIndex TYPE timestamp;
@@ -0,0 +1,27 @@
+-- Store album and playlist track lists as ordered arrays of track IDs, one row per album or playlist, in place of
+-- join tables with a row per track. Track rows have no position, but were inserted in order, so their physical order
+-- is the best guess at it. Album track rows are only ever inserted once, so theirs holds, but playlist rows were
+-- rewritten on every refresh and may have been reordered, so every playlist index is expired to correct it.
+
+ALTER TABLE TidalAlbum ADD COLUMN IF NOT EXISTS trackIds text[];
+
+UPDATE TidalAlbum a
+SET trackIds = t.trackIds
+FROM (SELECT TidalAlbum_id, array_agg(tracks_id ORDER BY ctid) AS trackIds
+      FROM TidalAlbum_TidalTrack
+      GROUP BY TidalAlbum_id) t
+WHERE a.id = t.TidalAlbum_id;
+
+ALTER TABLE TidalPlaylist ADD COLUMN IF NOT EXISTS trackIds text[];
+
+UPDATE TidalPlaylist p
+SET trackIds = t.trackIds
+FROM (SELECT TidalPlaylist_id, array_agg(tracks_id ORDER BY ctid) AS trackIds
+      FROM TidalPlaylist_TidalTrack
+      GROUP BY TidalPlaylist_id) t
+WHERE p.id = t.TidalPlaylist_id;
+
+UPDATE TidalPlaylist SET lastUpdatedIndex = '1970-01-01';
+
+DROP TABLE TidalAlbum_TidalTrack;
+DROP TABLE TidalPlaylist_TidalTrack;
@@ -0,0 +1,6 @@
+-- Keep each track's ISRC, so tracks from other services can be matched by it rather than searched for by name. It isn't
+-- unique, as the same recording can be released as several tracks. Tracks stored before this have no ISRC until they
+-- are fetched again.
+
+ALTER TABLE TidalTrack ADD COLUMN IF NOT EXISTS isrc varchar(255);
+CREATE INDEX IF NOT EXISTS idx_tidaltrack_isrc ON TidalTrack (isrc);
@@ -0,0 +1,16 @@
+-- Make each search alias unique per track, so concurrent stores of the same alias can't both insert it. Title and artist
+-- may be null, so the index is on coalesced expressions, under which a null and an empty string are the same alias.
+
+-- Remove duplicates stored before this, keeping the first copy of each alias
+DELETE FROM TidalTrack_searchAliases a
+USING TidalTrack_searchAliases b
+WHERE a.ctid > b.ctid
+  AND a.TidalTrack_id = b.TidalTrack_id
+  AND coalesce(a.title, '') = coalesce(b.title, '')
+  AND coalesce(a.artist, '') = coalesce(b.artist, '');
+
+CREATE UNIQUE INDEX IF NOT EXISTS idx_tidaltrack_searchaliases_unique
+    ON TidalTrack_searchAliases (TidalTrack_id, coalesce(title, ''), coalesce(artist, ''));
+
+-- Aliases are loaded by track through the unique index instead
+DROP INDEX IF EXISTS idx_tidaltrack_searchaliases_track;
@@ -0,0 +1,83 @@
+package dev.qilletni.lib.tidal.music.cache;
+
+import dev.qilletni.api.music.Track;
+import dev.qilletni.lib.tidal.music.entities.TidalTrack;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LazyTrackListTest {
+
+    /**
+     * Runs read-ahead loads right away, on the reading thread.
+     */
+    private static final Executor READ_AHEAD = Runnable::run;
+
+    /**
+     * Rejects every read-ahead load, so pages are only loaded when they're accessed.
+     */
+    private static final Executor NO_READ_AHEAD = task -> {
+        throw new RejectedExecutionException();
+    };
+
+    @Test
+    void iteratingSkipsTrackThatCannotBeLoaded() {
+        var trackList = createTrackList(List.of("1", "2", "3", "4", "5"), Set.of("3"), READ_AHEAD);
+
+        assertEquals(List.of("1", "2", "4", "5"), getIds(trackList));
+        assertEquals(4, trackList.size());
+    }
+
+    @Test
+    void indexesPastTrackThatCannotBeLoaded() {
+        var trackList = createTrackList(List.of("1", "2", "3", "4", "5"), Set.of("3"), NO_READ_AHEAD);
+
+        // Unloaded pages count all of their IDs, until they're loaded
+        assertEquals(5, trackList.size());
+        assertEquals("4", trackList.get(2).getId());
+        assertEquals(4, trackList.size());
+        assertEquals("5", trackList.get(3).getId());
+        assertEquals("1", trackList.get(0).getId());
+    }
+
+    @Test
+    void shrinksWhenLastTrackCannotBeLoaded() {
+        var trackList = createTrackList(List.of("1", "2", "3"), Set.of("3"), NO_READ_AHEAD);
+
+        assertEquals(3, trackList.size());
+        assertThrows(IndexOutOfBoundsException.class, () -> trackList.get(2));
+        assertEquals(2, trackList.size());
+        assertEquals(List.of("1", "2"), getIds(trackList));
+        assertEquals(List.of("1", "2"), trackList.stream().map(Track::getId).toList());
+    }
+
+    private static LazyTrackList createTrackList(List<String> trackIds, Set<String> missingIds, Executor readAheadExecutor) {
+        return new LazyTrackList(trackIds, 2, pageIds -> {
+            var tracks = new HashMap<String, Track>();
+            for (var id : pageIds) {
+                if (!missingIds.contains(id)) {
+                    tracks.put(id, new TidalTrack(id, "Track " + id, List.of(), null, 0));
+                }
+            }
+
+            return tracks;
+        }, readAheadExecutor);
+    }
+
+    private static List<String> getIds(List<Track> tracks) {
+        var ids = new ArrayList<String>();
+        for (var track : tracks) {
+            ids.add(track.getId());
+        }
+
+        return ids;
+    }
+}